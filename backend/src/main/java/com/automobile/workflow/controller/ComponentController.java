@@ -1,13 +1,25 @@
 package com.automobile.workflow.controller;
 
+import com.automobile.workflow.engine.BulkGenerationResult;
+import com.automobile.workflow.engine.DependencyGraph;
+import com.automobile.workflow.engine.ImpactReport;
 import com.automobile.workflow.model.Component;
+import com.automobile.workflow.model.ComponentSummary;
 import com.automobile.workflow.model.Workflow;
+import com.automobile.workflow.service.ComponentArchiveService;
+import com.automobile.workflow.service.ComponentBulkService;
 import com.automobile.workflow.service.ComponentService;
+import com.automobile.workflow.service.CursorPage;
+import com.automobile.workflow.service.ImpactAnalysisService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -24,14 +36,20 @@ import java.util.Map;
 public class ComponentController {
 
     private final ComponentService componentService;
+    private final ComponentArchiveService componentArchiveService;
+    private final ComponentBulkService componentBulkService;
+    private final DependencyGraph dependencyGraph;
+    private final ImpactAnalysisService impactAnalysisService;
 
     /**
-     * Get all components
+     * Get components, one keyset page at a time
      */
     @GetMapping
-    public ResponseEntity<List<Component>> getAllComponents() {
-        log.info("Fetching all components");
-        List<Component> components = componentService.getAllComponents();
+    public ResponseEntity<CursorPage<ComponentSummary>> getAllComponents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        log.info("Fetching components (cursor: {}, limit: {})", cursor, limit);
+        CursorPage<ComponentSummary> components = componentService.getAllComponents(cursor, limit);
         return ResponseEntity.ok(components);
     }
 
@@ -41,7 +59,7 @@ public class ComponentController {
     @GetMapping("/{id}")
     public ResponseEntity<Component> getComponentById(@PathVariable Long id) {
         log.info("Fetching component with ID: {}", id);
-        Component component = componentService.getComponentById(id);
+        Component component = componentService.getComponentDetails(id);
         return ResponseEntity.ok(component);
     }
 
@@ -49,20 +67,26 @@ public class ComponentController {
      * Get components by category
      */
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Component>> getComponentsByCategory(
-            @PathVariable Workflow.ComponentCategory category) {
+    public ResponseEntity<CursorPage<ComponentSummary>> getComponentsByCategory(
+            @PathVariable Workflow.ComponentCategory category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         log.info("Fetching components with category: {}", category);
-        List<Component> components = componentService.getComponentsByCategory(category);
+        CursorPage<ComponentSummary> components = componentService.getComponentsByCategory(category, cursor, limit);
         return ResponseEntity.ok(components);
     }
 
     /**
-     * Search components by name
+     * Search active components by name and description; a trailing '*' makes a term a prefix
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Component>> searchComponents(@RequestParam String query) {
+    public ResponseEntity<CursorPage<ComponentSummary>> searchComponents(
+            @RequestParam String query,
+            @RequestParam(required = false) Workflow.ComponentCategory category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         log.info("Searching components with query: {}", query);
-        List<Component> components = componentService.searchComponents(query);
+        CursorPage<ComponentSummary> components = componentService.searchComponents(query, category, cursor, limit);
         return ResponseEntity.ok(components);
     }
 
@@ -70,9 +94,11 @@ public class ComponentController {
      * Get active components
      */
     @GetMapping("/active")
-    public ResponseEntity<List<Component>> getActiveComponents() {
+    public ResponseEntity<CursorPage<ComponentSummary>> getActiveComponents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         log.info("Fetching active components");
-        List<Component> components = componentService.getActiveComponents();
+        CursorPage<ComponentSummary> components = componentService.getActiveComponents(cursor, limit);
         return ResponseEntity.ok(components);
     }
 
@@ -80,9 +106,12 @@ public class ComponentController {
      * Get components by workflow ID
      */
     @GetMapping("/workflow/{workflowId}")
-    public ResponseEntity<List<Component>> getComponentsByWorkflowId(@PathVariable Long workflowId) {
+    public ResponseEntity<CursorPage<ComponentSummary>> getComponentsByWorkflowId(
+            @PathVariable Long workflowId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         log.info("Fetching components for workflow ID: {}", workflowId);
-        List<Component> components = componentService.getComponentsByWorkflowId(workflowId);
+        CursorPage<ComponentSummary> components = componentService.getComponentsByWorkflowId(workflowId, cursor, limit);
         return ResponseEntity.ok(components);
     }
 
@@ -116,6 +145,45 @@ public class ComponentController {
         return ResponseEntity.ok(component);
     }
 
+    /**
+     * Activate every component matching the filters (combined with AND) in one statement
+     */
+    @PutMapping("/bulk/activate")
+    public ResponseEntity<Map<String, Object>> activateComponents(
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) Workflow.ComponentCategory category,
+            @RequestParam(required = false) Long workflowId) {
+        log.info("Bulk activating components (ids: {}, category: {}, workflowId: {})", ids, category, workflowId);
+        int affected = componentBulkService.setActive(ids, category, workflowId, true);
+        return ResponseEntity.ok(Map.of("affected", affected));
+    }
+
+    /**
+     * Deactivate every component matching the filters (combined with AND) in one statement
+     */
+    @PutMapping("/bulk/deactivate")
+    public ResponseEntity<Map<String, Object>> deactivateComponents(
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) Workflow.ComponentCategory category,
+            @RequestParam(required = false) Long workflowId) {
+        log.info("Bulk deactivating components (ids: {}, category: {}, workflowId: {})", ids, category, workflowId);
+        int affected = componentBulkService.setActive(ids, category, workflowId, false);
+        return ResponseEntity.ok(Map.of("affected", affected));
+    }
+
+    /**
+     * Delete every component matching the filters (combined with AND)
+     */
+    @DeleteMapping("/bulk")
+    public ResponseEntity<Map<String, Object>> deleteComponents(
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) Workflow.ComponentCategory category,
+            @RequestParam(required = false) Long workflowId) {
+        log.info("Bulk deleting components (ids: {}, category: {}, workflowId: {})", ids, category, workflowId);
+        int affected = componentBulkService.delete(ids, category, workflowId);
+        return ResponseEntity.ok(Map.of("affected", affected));
+    }
+
     /**
      * Get component statistics
      */
@@ -132,11 +200,98 @@ public class ComponentController {
     @GetMapping("/{id}/code")
     public ResponseEntity<Map<String, String>> getComponentCode(@PathVariable Long id) {
         log.info("Fetching code for component ID: {}", id);
-        Component component = componentService.getComponentById(id);
+        return ResponseEntity.ok(componentService.getComponentCode(id));
+    }
+
+    /**
+     * Generate components for many workflows in one request
+     */
+    @PostMapping("/bulk-generate")
+    public ResponseEntity<BulkGenerationResult> generateComponents(
+            @RequestBody List<Long> workflowIds,
+            @RequestParam(defaultValue = "false") boolean writeFiles) {
+        log.info("Bulk generating components for {} workflow(s)", workflowIds.size());
+        BulkGenerationResult result = componentService.generateComponents(workflowIds, writeFiles);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Download component files as a streamed zip or tar archive
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<StreamingResponseBody> downloadArchive(
+            @RequestParam(defaultValue = "ZIP") ComponentArchiveService.ArchiveFormat format,
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) Workflow.ComponentCategory category,
+            @RequestParam(required = false) Long workflowId) {
+        log.info("Streaming {} archive (ids: {}, category: {}, workflowId: {})", format, ids, category, workflowId);
+        StreamingResponseBody body = out ->
+            componentArchiveService.writeArchive(ids, category, workflowId, format, out);
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"components" + format.getExtension() + "\"")
+            .contentType(MediaType.parseMediaType(format.getContentType()))
+            .body(body);
+    }
+
+    /**
+     * Get dependency graph summary and any dependency cycles
+     */
+    @GetMapping("/graph")
+    public ResponseEntity<Map<String, Object>> getDependencyGraph() {
+        log.info("Fetching dependency graph summary");
+        Map<String, Object> graph = new HashMap<>(dependencyGraph.getStatistics());
+        graph.put("cycleMembers", dependencyGraph.getCycles());
+        return ResponseEntity.ok(graph);
+    }
+
+    /**
+     * Get direct and transitive dependencies of a component
+     */
+    @GetMapping("/graph/{name}/dependencies")
+    public ResponseEntity<Map<String, Object>> getDependencies(@PathVariable String name) {
+        log.info("Fetching dependencies of component: {}", name);
         return ResponseEntity.ok(Map.of(
-            "templateCode", component.getTemplateCode(),
-            "styleCode", component.getStyleCode() != null ? component.getStyleCode() : "",
-            "testCode", component.getTestCode() != null ? component.getTestCode() : ""
+            "name", name,
+            "direct", dependencyGraph.getDirectDependencies(name),
+            "transitive", dependencyGraph.getTransitiveDependencies(name),
+            "inCycle", dependencyGraph.isInCycle(name)
         ));
     }
+
+    /**
+     * Get components that depend on a component, directly or transitively
+     */
+    @GetMapping("/graph/{name}/dependents")
+    public ResponseEntity<Map<String, Object>> getDependents(@PathVariable String name) {
+        log.info("Fetching dependents of component: {}", name);
+        return ResponseEntity.ok(Map.of(
+            "name", name,
+            "direct", dependencyGraph.getDirectDependents(name),
+            "transitive", dependencyGraph.getTransitiveDependents(name),
+            "inCycle", dependencyGraph.isInCycle(name)
+        ));
+    }
+
+    /**
+     * Find components and workflows affected by a change to a dependency
+     */
+    @GetMapping("/impact/{name}")
+    public ResponseEntity<ImpactReport> analyzeImpact(
+            @PathVariable String name,
+            @RequestParam(defaultValue = "true") boolean transitive) {
+        log.info("Analyzing impact of changes to: {}", name);
+        return ResponseEntity.ok(impactAnalysisService.analyze(name, transitive));
+    }
+
+    /**
+     * Regenerate every component affected by a change to a dependency
+     */
+    @PostMapping("/impact/{name}/regenerate")
+    public ResponseEntity<ImpactReport> regenerateAffected(
+            @PathVariable String name,
+            @RequestParam(defaultValue = "true") boolean transitive,
+            @RequestParam(defaultValue = "false") boolean writeFiles) {
+        log.info("Regenerating components affected by: {}", name);
+        return ResponseEntity.ok(impactAnalysisService.regenerateAffected(name, transitive, writeFiles));
+    }
 }
@@ -0,0 +1,45 @@
+package com.automobile.workflow.controller;
+
+import com.automobile.workflow.service.CatalogSnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * SnapshotController - REST API for catalog snapshots
+ *
+ * Snapshots are restored only at startup (app.snapshot.restore-on-startup),
+ * so there is no restore endpoint.
+ */
+@RestController
+@RequestMapping("/api/snapshots")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class SnapshotController {
+
+    private final CatalogSnapshotService snapshotService;
+
+    /**
+     * Snapshot the whole catalog
+     */
+    @PostMapping
+    public ResponseEntity<CatalogSnapshotService.SnapshotInfo> createSnapshot() {
+        log.info("Creating catalog snapshot");
+        CatalogSnapshotService.SnapshotInfo snapshot = snapshotService.createSnapshot();
+        return ResponseEntity.status(HttpStatus.CREATED).body(snapshot);
+    }
+
+    /**
+     * List stored snapshots, newest first
+     */
+    @GetMapping
+    public ResponseEntity<List<CatalogSnapshotService.SnapshotInfo>> listSnapshots() {
+        log.info("Listing catalog snapshots");
+        return ResponseEntity.ok(snapshotService.listSnapshots());
+    }
+}
@@ -1,15 +1,29 @@
 package com.automobile.workflow.controller;
 
+import com.automobile.workflow.engine.ArchivalResult;
+import com.automobile.workflow.engine.BulkValidationRequest;
 import com.automobile.workflow.engine.WorkflowEngine;
 import com.automobile.workflow.engine.WorkflowExecutionResult;
+import com.automobile.workflow.engine.WorkflowImportResult;
+import com.automobile.workflow.engine.WorkflowValidationResult;
 import com.automobile.workflow.model.Workflow;
+import com.automobile.workflow.model.WorkflowDefinitionSummary;
+import com.automobile.workflow.model.WorkflowSummary;
+import com.automobile.workflow.service.CursorPage;
+import com.automobile.workflow.service.WorkflowArchiveService;
 import com.automobile.workflow.service.WorkflowService;
+import com.automobile.workflow.service.WorkflowTransferService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -27,6 +41,8 @@ public class WorkflowController {
 
     private final WorkflowService workflowService;
     private final WorkflowEngine workflowEngine;
+    private final WorkflowArchiveService workflowArchiveService;
+    private final WorkflowTransferService workflowTransferService;
 
     /**
      * Create a new workflow
@@ -39,12 +55,14 @@ public class WorkflowController {
     }
 
     /**
-     * Get all workflows
+     * Get workflows, one keyset page at a time
      */
     @GetMapping
-    public ResponseEntity<List<Workflow>> getAllWorkflows() {
-        log.info("Fetching all workflows");
-        List<Workflow> workflows = workflowService.getAllWorkflows();
+    public ResponseEntity<CursorPage<WorkflowSummary>> getAllWorkflows(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        log.info("Fetching workflows (cursor: {}, limit: {})", cursor, limit);
+        CursorPage<WorkflowSummary> workflows = workflowService.getAllWorkflows(cursor, limit);
         return ResponseEntity.ok(workflows);
     }
 
@@ -54,7 +72,7 @@ public class WorkflowController {
     @GetMapping("/{id}")
     public ResponseEntity<Workflow> getWorkflowById(@PathVariable Long id) {
         log.info("Fetching workflow with ID: {}", id);
-        Workflow workflow = workflowService.getWorkflowById(id);
+        Workflow workflow = workflowService.getWorkflowDetails(id);
         return ResponseEntity.ok(workflow);
     }
 
@@ -80,14 +98,30 @@ public class WorkflowController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Search workflows by name and description; a trailing '*' makes a term a prefix
+     */
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<WorkflowSummary>> searchWorkflows(
+            @RequestParam String query,
+            @RequestParam(required = false) Workflow.ComponentCategory category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        log.info("Searching workflows with query: {}", query);
+        CursorPage<WorkflowSummary> workflows = workflowService.searchWorkflows(query, category, cursor, limit);
+        return ResponseEntity.ok(workflows);
+    }
+
     /**
      * Get workflows by status
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Workflow>> getWorkflowsByStatus(
-            @PathVariable Workflow.WorkflowStatus status) {
+    public ResponseEntity<CursorPage<WorkflowSummary>> getWorkflowsByStatus(
+            @PathVariable Workflow.WorkflowStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         log.info("Fetching workflows with status: {}", status);
-        List<Workflow> workflows = workflowService.getWorkflowsByStatus(status);
+        CursorPage<WorkflowSummary> workflows = workflowService.getWorkflowsByStatus(status, cursor, limit);
         return ResponseEntity.ok(workflows);
     }
 
@@ -95,13 +129,28 @@ public class WorkflowController {
      * Get workflows by category
      */
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Workflow>> getWorkflowsByCategory(
-            @PathVariable Workflow.ComponentCategory category) {
+    public ResponseEntity<CursorPage<WorkflowSummary>> getWorkflowsByCategory(
+            @PathVariable Workflow.ComponentCategory category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         log.info("Fetching workflows with category: {}", category);
-        List<Workflow> workflows = workflowService.getWorkflowsByCategory(category);
+        CursorPage<WorkflowSummary> workflows = workflowService.getWorkflowsByCategory(category, cursor, limit);
         return ResponseEntity.ok(workflows);
     }
 
+    /**
+     * Validate many workflow definitions and/or stored workflows at once
+     */
+    @PostMapping("/validate")
+    public ResponseEntity<List<WorkflowValidationResult>> validateWorkflows(
+            @RequestBody BulkValidationRequest request) {
+        log.info("Validating {} workflow definition(s) and {} stored workflow(s)",
+            request.getWorkflows() != null ? request.getWorkflows().size() : 0,
+            request.getWorkflowIds() != null ? request.getWorkflowIds().size() : 0);
+        List<WorkflowValidationResult> results = workflowService.validateWorkflows(request);
+        return ResponseEntity.ok(results);
+    }
+
     /**
      * Execute workflow
      */
@@ -145,7 +194,7 @@ public class WorkflowController {
     @GetMapping("/{id}/status")
     public ResponseEntity<Map<String, Object>> getWorkflowStatus(@PathVariable Long id) {
         log.info("Fetching status for workflow ID: {}", id);
-        Workflow workflow = workflowService.getWorkflowById(id);
+        Workflow workflow = workflowService.getWorkflowOrArchived(id);
         return ResponseEntity.ok(Map.of(
             "id", workflow.getId(),
             "name", workflow.getName(),
@@ -156,16 +205,69 @@ public class WorkflowController {
         ));
     }
 
+    /**
+     * List the definition versions frozen at each approval, newest first
+     */
+    @GetMapping("/{id}/definitions")
+    public ResponseEntity<List<WorkflowDefinitionSummary>> getDefinitionVersions(@PathVariable Long id) {
+        log.info("Fetching definition versions for workflow ID: {}", id);
+        return ResponseEntity.ok(workflowService.getDefinitionVersions(id));
+    }
+
+    /**
+     * Get one definition version exactly as it was approved
+     */
+    @GetMapping("/{id}/definitions/{version}")
+    public ResponseEntity<Workflow> getDefinition(@PathVariable Long id, @PathVariable int version) {
+        log.info("Fetching definition version {} of workflow ID: {}", version, id);
+        return ResponseEntity.ok(workflowService.getDefinition(id, version));
+    }
+
     /**
      * Get pending approval workflows
      */
     @GetMapping("/pending-approval")
-    public ResponseEntity<List<Workflow>> getPendingApprovalWorkflows() {
+    public ResponseEntity<CursorPage<WorkflowSummary>> getPendingApprovalWorkflows(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         log.info("Fetching pending approval workflows");
-        List<Workflow> workflows = workflowService.getPendingApprovalWorkflows();
+        CursorPage<WorkflowSummary> workflows = workflowService.getPendingApprovalWorkflows(cursor, limit);
         return ResponseEntity.ok(workflows);
     }
 
+    /**
+     * Import workflow definitions streamed as NDJSON, one JSON object per line
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<WorkflowImportResult> importWorkflows(InputStream body) throws IOException {
+        log.info("Importing workflows from NDJSON stream");
+        WorkflowImportResult result = workflowTransferService.importWorkflows(body);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Export all workflow definitions as an NDJSON stream
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportWorkflows() {
+        log.info("Exporting workflows as NDJSON");
+        StreamingResponseBody body = workflowTransferService::exportWorkflows;
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"workflows.ndjson\"")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
+    /**
+     * Archive old terminal workflows now instead of waiting for the scheduled run
+     */
+    @PostMapping("/archive")
+    public ResponseEntity<ArchivalResult> archiveWorkflows() {
+        log.info("Archiving terminal workflows");
+        ArchivalResult result = workflowArchiveService.archiveTerminalWorkflows();
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Get workflow statistics
      */
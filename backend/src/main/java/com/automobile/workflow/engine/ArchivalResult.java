@@ -0,0 +1,17 @@
+package com.automobile.workflow.engine;
+
+import lombok.Data;
+
+/**
+ * ArchivalResult - Outcome of one archival run
+ *
+ * Reports how many terminal workflows were moved to the archive tables and
+ * in how many batches.
+ */
+@Data
+public class ArchivalResult {
+
+    private int archived;
+    private int batches;
+    private long durationMillis;
+}
@@ -0,0 +1,33 @@
+package com.automobile.workflow.engine;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BulkGenerationResult - Outcome of a bulk component generation run
+ * 
+ * Reports how many components were generated, regenerated or found
+ * unchanged, and which workflows were skipped, missing or not yet approved.
+ * Conflicts are component names already generated by a different workflow;
+ * file conflicts are components whose files were not written because another
+ * component in the same batch maps to the same directory.
+ * Archived workflows are frozen, so their components are not regenerated.
+ */
+@Data
+public class BulkGenerationResult {
+
+    private int requested;
+    private int generated;
+    private int regenerated;
+    private int unchanged;
+    private List<String> skipped = new ArrayList<>();
+    private List<String> conflicts = new ArrayList<>();
+    private List<String> fileConflicts = new ArrayList<>();
+    private List<Long> missingWorkflowIds = new ArrayList<>();
+    private List<Long> archivedWorkflowIds = new ArrayList<>();
+    private List<Long> notApprovedWorkflowIds = new ArrayList<>();
+    private boolean filesWritten;
+    private long durationMillis;
+}
@@ -0,0 +1,20 @@
+package com.automobile.workflow.engine;
+
+import com.automobile.workflow.model.Workflow;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BulkValidationRequest - Workflows to validate in one call
+ * 
+ * Definitions are validated as sent and need not be saved; IDs refer to
+ * stored workflows. Either list may be empty.
+ */
+@Data
+public class BulkValidationRequest {
+
+    private List<Workflow> workflows = new ArrayList<>();
+    private List<Long> workflowIds = new ArrayList<>();
+}
@@ -0,0 +1,289 @@
+package com.automobile.workflow.engine;
+
+import com.automobile.workflow.model.Workflow;
+import com.automobile.workflow.model.Workflow.ComponentCategory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CategoryRuleTable - Category-specific validation rules as a lookup table
+ *
+ * Every dependency name or name fragment a rule mentions is interned to a
+ * bit. A workflow's dependencies are reduced to one {@code long} mask (cached
+ * per dependency name), and each rule is a mask test, so validating a
+ * workflow that passes does not allocate. Symbols are written as an exact
+ * dependency name ({@code "DataLogger"}) or a fragment ({@code "*UI*"}) that
+ * matches any dependency containing it. A table holds at most 64 symbols.
+ */
+public final class CategoryRuleTable {
+
+    private static final int MAX_SYMBOLS = Long.SIZE;
+    private static final int MAX_CACHED_DEPENDENCIES = 10_000;
+    private static final Check[] NO_CHECKS = new Check[0];
+
+    private final String[] symbols;
+    private final Map<ComponentCategory, Check[]> checks;
+    private final String version;
+    private final Map<String, Long> dependencyMasks = new ConcurrentHashMap<>();
+
+    private CategoryRuleTable(String[] symbols, Map<ComponentCategory, Check[]> checks, String version) {
+        this.symbols = symbols;
+        this.checks = checks;
+        this.version = version;
+    }
+
+    /**
+     * The rules shipped with the generator, one row per category
+     */
+    public static CategoryRuleTable defaults() {
+        return builder()
+            .requireAll(ComponentCategory.SAFETY_SYSTEM, "Safety system requires dependency: %s",
+                "SensorModule", "AlertSystem")
+            .nameContainsAny(ComponentCategory.ENGINE_MANAGEMENT,
+                "Engine management components should include 'Monitor' or 'Controller' in name",
+                "Monitor", "Controller")
+            .requireAny(ComponentCategory.INFOTAINMENT,
+                "Infotainment components should have UI/Display dependencies",
+                "*UI*", "*Display*")
+            .requireAll(ComponentCategory.DIAGNOSTIC, "Diagnostic components require %s dependency",
+                "DataLogger")
+            .requireAny(ComponentCategory.POWERTRAIN,
+                "Powertrain components require a Sensor dependency",
+                "*Sensor*")
+            .requireAll(ComponentCategory.CHASSIS_CONTROL, "Chassis control requires dependency: %s",
+                "SensorModule")
+            .forbid(ComponentCategory.CHASSIS_CONTROL,
+                "Chassis control components must not depend on infotainment dependency: %s",
+                "*Media*", "*Display*")
+            .requireAny(ComponentCategory.BODY_ELECTRONICS,
+                "Body electronics components should have an Actuator or Controller dependency",
+                "*Actuator*", "*Controller*")
+            .requireAny(ComponentCategory.TELEMATICS,
+                "Telematics components require a Connectivity or Gateway dependency",
+                "*Connectivity*", "*Gateway*")
+            .forbid(ComponentCategory.TELEMATICS,
+                "Telematics components must not depend directly on safety actuator: %s",
+                "BrakeSystem", "*Steering*")
+            .build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Version of the rule definitions (a hash, so any change to a row changes it)
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Apply the rules for the workflow's category, adding a message per violation
+     */
+    public void validate(Workflow workflow, List<String> errors) {
+        Check[] categoryChecks = workflow.getCategory() != null
+            ? checks.getOrDefault(workflow.getCategory(), NO_CHECKS) : NO_CHECKS;
+        if (categoryChecks.length == 0) {
+            return;
+        }
+
+        long present = dependencyMask(workflow.getDependencies());
+        for (Check check : categoryChecks) {
+            switch (check.kind) {
+                case REQUIRE_ALL:
+                    reportEach(check, check.mask & ~present, errors);
+                    break;
+                case REQUIRE_ANY:
+                    if ((check.mask & present) == 0) {
+                        errors.add(check.message);
+                    }
+                    break;
+                case FORBID:
+                    if ((check.mask & present) != 0) {
+                        reportForbidden(check, workflow.getDependencies(), errors);
+                    }
+                    break;
+                case NAME_CONTAINS_ANY:
+                    if (!nameContainsAny(workflow.getComponentName(), check.keywords)) {
+                        errors.add(check.message);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Union of the symbol bits matched by a set of dependency names
+     */
+    long dependencyMask(List<String> dependencies) {
+        if (dependencies == null) {
+            return 0L;
+        }
+        long mask = 0L;
+        for (int i = 0; i < dependencies.size(); i++) {
+            String dependency = dependencies.get(i);
+            if (dependency == null) {
+                continue;
+            }
+            mask |= maskOf(dependency);
+        }
+        return mask;
+    }
+
+    private long maskOf(String dependency) {
+        Long cached = dependencyMasks.get(dependency);
+        if (cached != null) {
+            return cached;
+        }
+        return dependencyMasks.size() < MAX_CACHED_DEPENDENCIES
+            ? dependencyMasks.computeIfAbsent(dependency, this::matchSymbols)
+            : matchSymbols(dependency);
+    }
+
+    private long matchSymbols(String dependency) {
+        long mask = 0L;
+        for (int bit = 0; bit < symbols.length; bit++) {
+            String symbol = symbols[bit];
+            boolean matches = isFragment(symbol)
+                ? dependency.contains(symbol.substring(1, symbol.length() - 1))
+                : dependency.equals(symbol);
+            if (matches) {
+                mask |= 1L << bit;
+            }
+        }
+        return mask;
+    }
+
+    private void reportEach(Check check, long violations, List<String> errors) {
+        while (violations != 0) {
+            int bit = Long.numberOfTrailingZeros(violations);
+            errors.add(String.format(check.message, displayName(symbols[bit])));
+            violations &= violations - 1;
+        }
+    }
+
+    private void reportForbidden(Check check, List<String> dependencies, List<String> errors) {
+        for (String dependency : dependencies) {
+            if (dependency != null && (maskOf(dependency) & check.mask) != 0) {
+                errors.add(String.format(check.message, dependency));
+            }
+        }
+    }
+
+    private static boolean nameContainsAny(String name, String[] keywords) {
+        if (name == null) {
+            return false;
+        }
+        for (String keyword : keywords) {
+            if (name.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isFragment(String symbol) {
+        return symbol.length() > 2 && symbol.startsWith("*") && symbol.endsWith("*");
+    }
+
+    private static String displayName(String symbol) {
+        return isFragment(symbol) ? symbol.substring(1, symbol.length() - 1) : symbol;
+    }
+
+    private enum Kind { REQUIRE_ALL, REQUIRE_ANY, FORBID, NAME_CONTAINS_ANY }
+
+    private static final class Check {
+
+        final Kind kind;
+        final long mask;
+        final String[] keywords;
+        final String message;
+
+        Check(Kind kind, long mask, String[] keywords, String message) {
+            this.kind = kind;
+            this.mask = mask;
+            this.keywords = keywords;
+            this.message = message;
+        }
+    }
+
+    /**
+     * Builds a table row by row, interning symbols as they are first mentioned.
+     * Messages of per-dependency rules take the dependency name as {@code %s}.
+     */
+    public static final class Builder {
+
+        private final List<String> symbols = new ArrayList<>();
+        private final Map<ComponentCategory, List<Check>> checks = new EnumMap<>(ComponentCategory.class);
+        private final StringBuilder definition = new StringBuilder();
+
+        private Builder() {
+        }
+
+        /**
+         * Every listed dependency must be present; one message per missing dependency
+         */
+        public Builder requireAll(ComponentCategory category, String message, String... dependencies) {
+            return add(category, new Check(Kind.REQUIRE_ALL, intern(dependencies), null, message), dependencies);
+        }
+
+        /**
+         * At least one listed dependency must be present
+         */
+        public Builder requireAny(ComponentCategory category, String message, String... dependencies) {
+            return add(category, new Check(Kind.REQUIRE_ANY, intern(dependencies), null, message), dependencies);
+        }
+
+        /**
+         * None of the listed dependencies may be present; one message per offending dependency
+         */
+        public Builder forbid(ComponentCategory category, String message, String... dependencies) {
+            return add(category, new Check(Kind.FORBID, intern(dependencies), null, message), dependencies);
+        }
+
+        /**
+         * The component name must contain one of the keywords
+         */
+        public Builder nameContainsAny(ComponentCategory category, String message, String... keywords) {
+            return add(category, new Check(Kind.NAME_CONTAINS_ANY, 0L, keywords.clone(), message), keywords);
+        }
+
+        public CategoryRuleTable build() {
+            Map<ComponentCategory, Check[]> table = new EnumMap<>(ComponentCategory.class);
+            checks.forEach((category, rows) -> table.put(category, rows.toArray(NO_CHECKS)));
+            return new CategoryRuleTable(symbols.toArray(new String[0]), table,
+                CodeBlobService.hash(definition.toString()));
+        }
+
+        private Builder add(ComponentCategory category, Check check, String[] arguments) {
+            checks.computeIfAbsent(category, key -> new ArrayList<>()).add(check);
+            definition.append(category).append('|').append(check.kind).append('|')
+                .append(String.join(",", arguments)).append('|').append(check.message).append('\n');
+            return this;
+        }
+
+        private long intern(String[] names) {
+            long mask = 0L;
+            for (String name : names) {
+                int bit = symbols.indexOf(name);
+                if (bit < 0) {
+                    if (symbols.size() == MAX_SYMBOLS) {
+                        throw new IllegalStateException("Category rule table supports at most "
+                            + MAX_SYMBOLS + " dependency symbols");
+                    }
+                    symbols.add(name);
+                    bit = symbols.size() - 1;
+                }
+                mask |= 1L << bit;
+            }
+            return mask;
+        }
+    }
+}
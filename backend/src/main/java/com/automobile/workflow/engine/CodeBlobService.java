@@ -0,0 +1,187 @@
+package com.automobile.workflow.engine;
+
+import com.automobile.workflow.model.CodeBlob;
+import com.automobile.workflow.repository.CodeBlobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CodeBlobService - Content-addressed storage for generated code
+ *
+ * Each distinct artifact is stored once, keyed by its SHA-256 hash, and
+ * reference counted by the components that point at it.
+ *
+ * Parallel generators routinely render identical content, so a missing blob
+ * is inserted with no references in a short transaction of its own and the
+ * reference count is then raised with a single UPDATE in the caller's
+ * transaction. When two callers insert the same hash, only the loser's
+ * small insert transaction fails; it then finds the winner's row. A blob
+ * inserted for a caller that later rolls back stays with no references
+ * and is reused the next time the same content is stored.
+ */
+@Service
+@Slf4j
+public class CodeBlobService {
+
+    /**
+     * Increment, insert, increment again; a third round only after a concurrent delete
+     */
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final CodeBlobRepository codeBlobRepository;
+    private final TransactionTemplate insertTransaction;
+
+    public CodeBlobService(CodeBlobRepository codeBlobRepository, PlatformTransactionManager transactionManager) {
+        this.codeBlobRepository = codeBlobRepository;
+        this.insertTransaction = new TransactionTemplate(transactionManager);
+        this.insertTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Store content (or add a reference to an identical existing blob)
+     */
+    @Transactional
+    public CodeBlob acquire(String content) {
+        if (content == null) {
+            return null;
+        }
+        String hash = hash(content);
+        addReferences(hash, content, 1);
+        return codeBlobRepository.getReferenceById(hash);
+    }
+
+    /**
+     * Store many artifacts at once; the returned map is keyed by content
+     * 
+     * Duplicates within the batch collapse to one blob whose reference count
+     * grows by the number of occurrences; blobs that do not exist yet are
+     * inserted together in one batched saveAll.
+     */
+    @Transactional
+    public Map<String, CodeBlob> acquireAll(Collection<String> contents) {
+        Map<String, String> contentByHash = new LinkedHashMap<>();
+        Map<String, Long> occurrences = new HashMap<>();
+        for (String content : contents) {
+            if (content == null) {
+                continue;
+            }
+            String hash = hash(content);
+            contentByHash.putIfAbsent(hash, content);
+            occurrences.merge(hash, 1L, Long::sum);
+        }
+        if (contentByHash.isEmpty()) {
+            return Map.of();
+        }
+
+        List<String> missing = new ArrayList<>();
+        for (String hash : contentByHash.keySet()) {
+            if (codeBlobRepository.addRefCount(hash, occurrences.get(hash)) == 0) {
+                missing.add(hash);
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<CodeBlob> created = new ArrayList<>(missing.size());
+            for (String hash : missing) {
+                created.add(unreferenced(hash, contentByHash.get(hash)));
+            }
+            insertUnreferenced(created);
+            for (String hash : missing) {
+                addReferences(hash, contentByHash.get(hash), occurrences.get(hash));
+            }
+        }
+
+        Map<String, CodeBlob> blobs = new HashMap<>();
+        for (Map.Entry<String, String> entry : contentByHash.entrySet()) {
+            blobs.put(entry.getValue(), codeBlobRepository.getReferenceById(entry.getKey()));
+        }
+        log.debug("Acquired {} artifact(s): {} new blob(s), {} reused", occurrences.values().stream()
+            .mapToLong(Long::longValue).sum(), missing.size(), contentByHash.size() - missing.size());
+        return blobs;
+    }
+
+    /**
+     * Add references to the blob holding this content, inserting the blob first if it does not exist
+     */
+    private void addReferences(String hash, String content, long count) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            if (codeBlobRepository.addRefCount(hash, count) > 0) {
+                return;
+            }
+            insertUnreferenced(List.of(unreferenced(hash, content)));
+        }
+        throw new RuntimeException("Unable to store code blob " + hash);
+    }
+
+    /**
+     * Insert blobs with no references in their own transaction; losing a race to another insert is fine
+     */
+    private void insertUnreferenced(List<CodeBlob> blobs) {
+        try {
+            insertTransaction.executeWithoutResult(status -> codeBlobRepository.saveAll(blobs));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Code blob(s) stored concurrently by another transaction: {}", e.getMessage());
+        }
+    }
+
+    private static CodeBlob unreferenced(String hash, String content) {
+        return CodeBlob.builder()
+            .hash(hash)
+            .content(content)
+            .size(content.length())
+            .refCount(0L)
+            .build();
+    }
+
+    /**
+     * Drop a reference; the blob is deleted when nothing references it any more
+     */
+    @Transactional
+    public void release(CodeBlob blob) {
+        if (blob == null) {
+            return;
+        }
+        String hash = blob.getHash();
+        codeBlobRepository.decrementRefCount(hash);
+        if (codeBlobRepository.deleteIfUnreferenced(hash) > 0) {
+            log.debug("Deleted unreferenced code blob {}", hash);
+        }
+    }
+
+    /**
+     * Check whether a blob already holds exactly this content
+     */
+    public boolean isUnchanged(CodeBlob blob, String content) {
+        if (blob == null || content == null) {
+            return blob == null && content == null;
+        }
+        return blob.getHash().equals(hash(content));
+    }
+
+    /**
+     * Content hash used as the blob key
+     */
+    public static String hash(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
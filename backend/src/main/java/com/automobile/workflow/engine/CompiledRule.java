@@ -0,0 +1,63 @@
+package com.automobile.workflow.engine;
+
+import com.automobile.workflow.model.Workflow;
+
+import java.util.function.Predicate;
+
+/**
+ * CompiledRule - A workflow validation rule parsed once into a predicate
+ *
+ * Rules that are not written in the rule language (free-text requirements
+ * such as "Real-time monitoring required") are kept as descriptive rules
+ * and always pass. Rules that look like expressions but fail to parse carry
+ * the parse error instead of a predicate.
+ */
+public final class CompiledRule {
+
+    private final String source;
+    private final Predicate<Workflow> predicate;
+    private final String error;
+
+    private CompiledRule(String source, Predicate<Workflow> predicate, String error) {
+        this.source = source;
+        this.predicate = predicate;
+        this.error = error;
+    }
+
+    static CompiledRule expression(String source, Predicate<Workflow> predicate) {
+        return new CompiledRule(source, predicate, null);
+    }
+
+    static CompiledRule descriptive(String source) {
+        return new CompiledRule(source, null, null);
+    }
+
+    static CompiledRule invalid(String source, String error) {
+        return new CompiledRule(source, null, error);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Parse error, or null if the rule compiled
+     */
+    public String getError() {
+        return error;
+    }
+
+    public boolean isDescriptive() {
+        return predicate == null && error == null;
+    }
+
+    /**
+     * Evaluate the rule; descriptive rules always pass, invalid rules never do
+     */
+    public boolean test(Workflow workflow) {
+        if (predicate != null) {
+            return predicate.test(workflow);
+        }
+        return error == null;
+    }
+}
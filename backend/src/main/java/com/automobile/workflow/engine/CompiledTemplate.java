@@ -0,0 +1,66 @@
+package com.automobile.workflow.engine;
+
+import com.automobile.workflow.model.Workflow;
+
+/**
+ * CompiledTemplate - A template compiled into a tree of render functions
+ *
+ * Produced by {@link TemplateCompiler}. Rendering walks the pre-bound node
+ * tree once, appending into a single pre-sized buffer; no parsing or
+ * placeholder lookup happens at render time.
+ */
+public final class CompiledTemplate {
+
+    private final String name;
+    private final String version;
+    private final RenderNode root;
+    private final int sizeHint;
+
+    CompiledTemplate(String name, String version, RenderNode root, int sizeHint) {
+        this.name = name;
+        this.version = version;
+        this.root = root;
+        this.sizeHint = sizeHint;
+    }
+
+    /**
+     * Render this template for a workflow
+     */
+    public String render(Workflow workflow) {
+        StringBuilder out = new StringBuilder(sizeHint);
+        root.render(new RenderContext(workflow), out);
+        return out.toString();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Version of the template source (a hash, so any edit changes it)
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * A compiled fragment of a template
+     */
+    @FunctionalInterface
+    interface RenderNode {
+        void render(RenderContext context, StringBuilder out);
+    }
+
+    /**
+     * Mutable render state: the workflow being rendered and the current loop item
+     */
+    static final class RenderContext {
+
+        final Workflow workflow;
+        String item;
+
+        RenderContext(Workflow workflow) {
+            this.workflow = workflow;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.automobile.workflow.engine;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * ComponentFileWriter - Writes generated component files to disk
+ *
+ * Files are written with NIO into a staging directory next to the output
+ * directory. Each publish moves them into a new version directory under
+ * .versions and then atomically renames a symbolic link
+ * (output/&lt;component&gt;) onto it, so readers see either the old or the new
+ * files and never a missing or half-written component. Where symbolic links
+ * are unavailable, and the first time a plain directory from an older
+ * layout is replaced, the old directory is moved aside before the new one
+ * moves in; between those two renames the component briefly has no files.
+ *
+ * A {@link Batch} defers durability to commit time: nothing is synced while
+ * files are staged, and the staging, versions and output directories are
+ * synced once per batch. File data still needs one force per file, since
+ * Java has no portable call that flushes a whole directory tree or file
+ * system; the batch only moves those calls out of the write path.
+ */
+@Service
+@Slf4j
+public class ComponentFileWriter {
+
+    public static final String TYPESCRIPT_SUFFIX = ".component.ts";
+    public static final String HTML_SUFFIX = ".component.html";
+    public static final String STYLE_SUFFIX = ".component.scss";
+    public static final String SPEC_SUFFIX = ".component.spec.ts";
+    public static final String FINGERPRINT_FILE = ".fingerprint";
+
+    private static final String VERSIONS_DIRECTORY = ".versions";
+
+    private final Path outputDirectory;
+    private final Path versionsDirectory;
+
+    public ComponentFileWriter(@Value("${app.component.output-directory:generated-components}") String outputDirectory) {
+        this.outputDirectory = Path.of(outputDirectory).toAbsolutePath().normalize();
+        this.versionsDirectory = this.outputDirectory.resolve(VERSIONS_DIRECTORY);
+    }
+
+    /**
+     * Root directory that generated components are published into
+     */
+    public Path getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    /**
+     * Directory a component is published into
+     */
+    public Path componentDirectory(String componentName) {
+        return outputDirectory.resolve(ComponentNaming.toKebabCase(componentName));
+    }
+
+    /**
+     * Fingerprint recorded with a component's published files, or null if none
+     */
+    public String readFingerprint(String componentName) {
+        Path marker = componentDirectory(componentName).resolve(FINGERPRINT_FILE);
+        if (!Files.isRegularFile(marker)) {
+            return null;
+        }
+        try {
+            return Files.readString(marker, StandardCharsets.UTF_8).trim();
+        } catch (IOException e) {
+            log.debug("Unable to read fingerprint for {}: {}", componentName, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * File name of one of a component's artifacts
+     */
+    public static String fileName(String componentName, String suffix) {
+        return ComponentNaming.toKebabCase(componentName) + suffix;
+    }
+
+    /**
+     * Build the file map for a component's artifacts, in publication order
+     */
+    public static Map<String, String> componentFiles(String componentName, String typescript, String html,
+                                                     String style, String spec) {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put(fileName(componentName, TYPESCRIPT_SUFFIX), typescript);
+        files.put(fileName(componentName, HTML_SUFFIX), html);
+        files.put(fileName(componentName, STYLE_SUFFIX), style != null ? style : "");
+        files.put(fileName(componentName, SPEC_SUFFIX), spec != null ? spec : "");
+        return files;
+    }
+
+    /**
+     * Open a batch; staged components become visible only on {@link Batch#commit()}
+     */
+    public Batch openBatch() {
+        try {
+            Files.createDirectories(versionsDirectory);
+            Path staging = Files.createTempDirectory(outputDirectory, ".staging-");
+            return new Batch(staging);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to prepare output directory " + outputDirectory, e);
+        }
+    }
+
+    /**
+     * A group of component directories written and published together
+     */
+    public final class Batch implements Closeable {
+
+        private final Path staging;
+        private final Map<String, String> stagedDirectories = new LinkedHashMap<>();
+        private final List<Path> stagedFiles = new ArrayList<>();
+        private boolean committed;
+
+        private Batch(Path staging) {
+            this.staging = staging;
+        }
+
+        /**
+         * Write a component's files into the staging area (no sync yet)
+         *
+         * @return false, with nothing staged, if a component already staged in this batch
+         *         has the same directory name (the same component, or e.g. "ABC" and "Abc")
+         */
+        public boolean stage(String componentName, Map<String, String> files) {
+            String directoryName = ComponentNaming.toKebabCase(componentName);
+            String staged = stagedDirectories.get(directoryName);
+            if (staged != null) {
+                log.warn("Component {} not written: directory {} is already staged for component {}",
+                    componentName, directoryName, staged);
+                return false;
+            }
+            try {
+                Path directory = Files.createDirectory(staging.resolve(directoryName));
+                for (Map.Entry<String, String> file : files.entrySet()) {
+                    Path path = directory.resolve(file.getKey());
+                    writeFile(path, file.getValue());
+                    stagedFiles.add(path);
+                }
+                stagedDirectories.put(directoryName, componentName);
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to stage files for component " + componentName, e);
+            }
+        }
+
+        /**
+         * Force every staged file and sync the staging directory, then atomically move each component into place
+         */
+        public List<Path> commit() {
+            try {
+                for (Path file : stagedFiles) {
+                    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                        channel.force(false);
+                    }
+                }
+                syncDirectory(staging);
+
+                List<Path> published = new ArrayList<>(stagedDirectories.size());
+                for (String directoryName : stagedDirectories.keySet()) {
+                    published.add(publish(staging.resolve(directoryName), outputDirectory.resolve(directoryName)));
+                }
+                syncDirectory(versionsDirectory);
+                syncDirectory(outputDirectory);
+                committed = true;
+
+                log.info("Published {} component(s) ({} files) to {}",
+                    published.size(), stagedFiles.size(), outputDirectory);
+                return published;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to publish generated components", e);
+            }
+        }
+
+        /**
+         * Remove the staging area; uncommitted files are discarded
+         */
+        @Override
+        public void close() {
+            if (!committed) {
+                log.warn("Discarding {} uncommitted component(s) in {}", stagedDirectories.size(), staging);
+            }
+            deleteRecursively(staging);
+        }
+    }
+
+    private static void writeFile(Path path, String content) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Publish a staged directory as the target's new version
+     *
+     * The staged files move into a fresh version directory; a link to it is
+     * created under a temporary name and renamed over the target, which
+     * replaces the previous link in one step. The version it pointed to is
+     * deleted afterwards.
+     */
+    private Path publish(Path source, Path target) throws IOException {
+        Path version = versionsDirectory.resolve(target.getFileName() + "-" + UUID.randomUUID());
+        atomicMove(source, version);
+
+        Path previous = Files.isSymbolicLink(target) ? target.resolveSibling(Files.readSymbolicLink(target)) : null;
+        Path link = outputDirectory.resolve(".link-" + UUID.randomUUID());
+        try {
+            Files.createSymbolicLink(link, outputDirectory.relativize(version));
+        } catch (UnsupportedOperationException | IOException e) {
+            log.debug("Symbolic links unavailable in {}, replacing {} in two steps: {}",
+                outputDirectory, target.getFileName(), e.getMessage());
+            return replaceDirectory(version, target);
+        }
+
+        if (Files.exists(target, LinkOption.NOFOLLOW_LINKS) && !Files.isSymbolicLink(target)) {
+            // Plain directory from before versioned publishing: swap it out once
+            Path replaced = outputDirectory.resolve(".replaced-" + UUID.randomUUID());
+            atomicMove(target, replaced);
+            deleteRecursively(replaced);
+        }
+        Files.move(link, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        if (previous != null && !previous.normalize().equals(version)) {
+            deleteRecursively(previous);
+        }
+        return target;
+    }
+
+    /**
+     * Fallback without symbolic links: move the old directory aside, then the new one in
+     */
+    private Path replaceDirectory(Path source, Path target) throws IOException {
+        Path previous = null;
+        if (Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+            previous = outputDirectory.resolve(".replaced-" + UUID.randomUUID());
+            atomicMove(target, previous);
+        }
+        atomicMove(source, target);
+        if (previous != null) {
+            deleteRecursively(previous);
+        }
+        return target;
+    }
+
+    private static void atomicMove(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target);
+        }
+    }
+
+    /**
+     * fsync a directory so renames inside it are durable (best effort; not all platforms allow it)
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("Directory sync not supported for {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static void deleteRecursively(Path root) {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.delete(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                    Files.delete(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Unable to clean up {}: {}", root, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.automobile.workflow.engine;
+
+import com.automobile.workflow.model.Component;
+import com.automobile.workflow.model.Workflow;
+
+import java.util.List;
+
+/**
+ * ComponentFingerprint - Fingerprints of the inputs each generated artifact depends on
+ *
+ * If a fingerprint stored on a component matches the one computed from its
+ * workflow, the artifact would render identically and can be reused
+ * without rendering. Each artifact only covers the inputs it uses, so
+ * e.g. adding a dependency regenerates the TypeScript but not the styles.
+ */
+public record ComponentFingerprint(String code, String style, String test) {
+
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final char ITEM_SEPARATOR = '\u0001';
+
+    /**
+     * Compute fingerprints for a workflow against the templates that would render it
+     */
+    public static ComponentFingerprint of(Workflow workflow, CompiledTemplate codeTemplate,
+                                          CompiledTemplate styleTemplate, CompiledTemplate testTemplate) {
+        String code = digest(
+            codeTemplate.getVersion(),
+            workflow.getComponentName(),
+            workflow.getDescription(),
+            String.valueOf(workflow.getCategory()),
+            workflow.getComponentType(),
+            join(workflow.getDependencies()),
+            join(workflow.getInputs()),
+            join(workflow.getOutputs()));
+        String style = digest(styleTemplate.getVersion(), workflow.getComponentName());
+        String test = digest(testTemplate.getVersion(), workflow.getComponentName(),
+            String.valueOf(workflow.getCategory()));
+        return new ComponentFingerprint(code, style, test);
+    }
+
+    /**
+     * Fingerprints currently stored on a component
+     */
+    public static ComponentFingerprint of(Component component) {
+        return new ComponentFingerprint(
+            component.getCodeFingerprint(), component.getStyleFingerprint(), component.getTestFingerprint());
+    }
+
+    /**
+     * Store these fingerprints on a component
+     */
+    public void applyTo(Component component) {
+        component.setCodeFingerprint(code);
+        component.setStyleFingerprint(style);
+        component.setTestFingerprint(test);
+    }
+
+    /**
+     * Single value covering all artifacts
+     */
+    public String combined() {
+        return digest(code, style, test);
+    }
+
+    private static String digest(String... parts) {
+        StringBuilder input = new StringBuilder(256);
+        for (String part : parts) {
+            if (part != null) {
+                input.append(part);
+            }
+            input.append(FIELD_SEPARATOR);
+        }
+        return CodeBlobService.hash(input.toString());
+    }
+
+    private static String join(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return "";
+        }
+        StringBuilder joined = new StringBuilder();
+        for (String value : values) {
+            joined.append(value).append(ITEM_SEPARATOR);
+        }
+        return joined.toString();
+    }
+}
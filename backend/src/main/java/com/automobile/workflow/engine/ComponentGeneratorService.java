@@ -1,13 +1,27 @@
 package com.automobile.workflow.engine;
 
+import com.automobile.workflow.model.CodeBlob;
 import com.automobile.workflow.model.Component;
 import com.automobile.workflow.model.Workflow;
 import com.automobile.workflow.repository.ComponentRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
 /**
  * ComponentGeneratorService - Generates functional components
  * 
@@ -19,225 +33,384 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class ComponentGeneratorService {
 
+    /**
+     * Statuses a workflow reaches only after approval
+     */
+    private static final Set<Workflow.WorkflowStatus> GENERATABLE = EnumSet.of(
+        Workflow.WorkflowStatus.APPROVED, Workflow.WorkflowStatus.IN_PROGRESS,
+        Workflow.WorkflowStatus.COMPLETED, Workflow.WorkflowStatus.FAILED);
+
     private final ComponentRepository componentRepository;
     private final TemplateService templateService;
+    private final ComponentFileWriter componentFileWriter;
+    private final CodeBlobService codeBlobService;
+    private final ComponentIndex componentIndex;
+    private final EntityManager entityManager;
+
+    @Value("${app.component.bulk-chunk-size:500}")
+    private int bulkChunkSize;
 
     /**
      * Generate a component from workflow
+     * 
+     * Incremental: if the component already exists and its stored input
+     * fingerprints match, nothing is rendered or saved; otherwise only the
+     * artifacts whose inputs changed are re-rendered.
      */
     @Transactional
     public Component generateComponent(Workflow workflow) {
         log.info("Generating component for workflow: {}", workflow.getName());
 
-        // Get template based on category and type
-        String template = templateService.getTemplate(workflow.getCategory(), workflow.getComponentType());
+        ComponentFingerprint fingerprint = fingerprint(workflow);
+        Optional<Component> existing = componentRepository.findByName(workflow.getComponentName());
+        if (existing.isPresent()) {
+            if (!ownedBy(existing.get(), workflow)) {
+                throw new RuntimeException("Component name '" + workflow.getComponentName()
+                    + "' is already used by workflow " + existing.get().getWorkflowId());
+            }
+            return regenerate(existing.get(), workflow, fingerprint);
+        }
 
-        // Generate component code
-        String componentCode = generateComponentCode(workflow, template);
-        String styleCode = generateStyleCode(workflow);
-        String testCode = generateTestCode(workflow);
+        RenderedComponent rendered = render(workflow);
 
         // Create component entity
-        Component component = Component.builder()
-            .name(workflow.getComponentName())
-            .description(workflow.getDescription())
-            .category(workflow.getCategory())
-            .componentType(workflow.getComponentType())
-            .selector(generateSelector(workflow.getComponentName()))
-            .templateCode(componentCode)
-            .styleCode(styleCode)
-            .testCode(testCode)
-            .dependencies(workflow.getDependencies())
-            .version("1.0.0")
-            .createdBy(workflow.getCreatedBy())
-            .workflowId(workflow.getId())
-            .isActive(true)
-            .build();
+        Component component = buildComponent(workflow,
+            codeBlobService.acquire(rendered.componentCode()),
+            codeBlobService.acquire(rendered.styleCode()),
+            codeBlobService.acquire(rendered.testCode()));
+        fingerprint.applyTo(component);
 
         // Save component
         component = componentRepository.save(component);
+        componentIndex.put(component);
 
         log.info("Component generated successfully: {}", component.getName());
         return component;
     }
 
     /**
-     * Generate component TypeScript code
+     * Bring an existing component up to date with its workflow
      */
-    private String generateComponentCode(Workflow workflow, String template) {
-        String code = template;
+    private Component regenerate(Component component, Workflow workflow, ComponentFingerprint fingerprint) {
+        ComponentFingerprint stored = ComponentFingerprint.of(component);
+        if (fingerprint.equals(stored)) {
+            log.info("Component {} is up to date, skipping generation", component.getName());
+            return component;
+        }
 
-        // Replace placeholders
-        code = code.replace("{{COMPONENT_NAME}}", workflow.getComponentName());
-        code = code.replace("{{SELECTOR}}", generateSelector(workflow.getComponentName()));
-        code = code.replace("{{DESCRIPTION}}", workflow.getDescription() != null ? workflow.getDescription() : "");
-        code = code.replace("{{CATEGORY}}", workflow.getCategory().toString());
+        List<CodeBlob> replaced = new ArrayList<>(3);
+        if (!fingerprint.code().equals(stored.code())) {
+            CompiledTemplate template = templateService.getTemplate(workflow.getCategory(), workflow.getComponentType());
+            replaceBlob(component.getTemplateBlob(), template.render(workflow), component::setTemplateBlob,
+                replaced);
+        }
+        if (!fingerprint.style().equals(stored.style())) {
+            replaceBlob(component.getStyleBlob(), templateService.getStyleTemplate().render(workflow),
+                component::setStyleBlob, replaced);
+        }
+        if (!fingerprint.test().equals(stored.test())) {
+            replaceBlob(component.getTestBlob(), templateService.getTestTemplate().render(workflow),
+                component::setTestBlob, replaced);
+        }
 
-        // Add imports for dependencies
-        StringBuilder imports = new StringBuilder();
-        for (String dep : workflow.getDependencies()) {
-            imports.append("import { ").append(dep).append(" } from './").append(toKebabCase(dep)).append("';\n");
+        Component saved = saveRegenerated(component, workflow, fingerprint);
+        // The row must point at the new blobs before the old ones can be deleted (fk_components_*_blob)
+        componentRepository.flush();
+        replaced.forEach(codeBlobService::release);
+        return saved;
+    }
+
+    /**
+     * Apply pre-rendered artifacts to an existing component; with force every
+     * artifact is replaced, otherwise only those whose fingerprint changed.
+     * Replaced blobs are collected for release once the component is flushed.
+     */
+    private Component refresh(Component component, RenderedComponent rendered, boolean force,
+                              List<CodeBlob> replaced) {
+        ComponentFingerprint stored = ComponentFingerprint.of(component);
+        ComponentFingerprint fingerprint = rendered.fingerprint();
+
+        if (force || !fingerprint.code().equals(stored.code())) {
+            replaceBlob(component.getTemplateBlob(), rendered.componentCode(), component::setTemplateBlob, replaced);
+        }
+        if (force || !fingerprint.style().equals(stored.style())) {
+            replaceBlob(component.getStyleBlob(), rendered.styleCode(), component::setStyleBlob, replaced);
+        }
+        if (force || !fingerprint.test().equals(stored.test())) {
+            replaceBlob(component.getTestBlob(), rendered.testCode(), component::setTestBlob, replaced);
+        }
+
+        return saveRegenerated(component, rendered.workflow(), fingerprint);
+    }
+
+    /**
+     * Point an artifact at re-rendered content
+     *
+     * A changed fingerprint does not always change the output (a new
+     * description may not appear in the styles), so the content hash is
+     * compared first and an unchanged artifact keeps its blob and reference.
+     * The previous blob is added to replaced; the caller releases it only
+     * after flushing the component, since releasing may delete it.
+     */
+    private void replaceBlob(CodeBlob current, String content, Consumer<CodeBlob> setter, List<CodeBlob> replaced) {
+        if (codeBlobService.isUnchanged(current, content)) {
+            return;
+        }
+        setter.accept(codeBlobService.acquire(content));
+        if (current != null) {
+            replaced.add(current);
         }
-        code = code.replace("{{IMPORTS}}", imports.toString());
+    }
+
+    private Component saveRegenerated(Component component, Workflow workflow, ComponentFingerprint fingerprint) {
+        component.setDescription(workflow.getDescription());
+        component.setCategory(workflow.getCategory());
+        component.setComponentType(workflow.getComponentType());
+        component.setDependencies(new ArrayList<>(workflow.getDependencies()));
+        component.setInputs(new ArrayList<>(workflow.getInputs()));
+        component.setOutputs(new ArrayList<>(workflow.getOutputs()));
+        fingerprint.applyTo(component);
 
-        // Add category-specific logic
-        code = addCategorySpecificLogic(code, workflow);
+        log.info("Component {} regenerated", component.getName());
+        Component saved = componentRepository.save(component);
+        componentIndex.put(saved);
+        return saved;
+    }
 
-        return code;
+    /**
+     * Fingerprint a workflow against the templates that would render it
+     */
+    private ComponentFingerprint fingerprint(Workflow workflow) {
+        return ComponentFingerprint.of(workflow,
+            templateService.getTemplate(workflow.getCategory(), workflow.getComponentType()),
+            templateService.getStyleTemplate(),
+            templateService.getTestTemplate());
     }
 
     /**
-     * Add category-specific logic to component
+     * Generate components for many workflows
+     * 
+     * Rendering runs in parallel; persistence happens in chunks so Hibernate
+     * can batch the component, element-collection and blob inserts. Each
+     * chunk is flushed and cleared to keep the persistence context small.
+     * Workflows must have their collections initialized before the call.
+     * Workflows that have not been approved (DRAFT, PENDING_APPROVAL,
+     * REJECTED) are left out and reported.
      */
-    private String addCategorySpecificLogic(String code, Workflow workflow) {
-        StringBuilder logic = new StringBuilder();
-
-        switch (workflow.getCategory()) {
-            case SAFETY_SYSTEM:
-                logic.append("  // Safety system logic\n");
-                logic.append("  private alertSystem: AlertSystem;\n");
-                logic.append("  private sensorData: any;\n\n");
-                logic.append("  monitorSafety(): void {\n");
-                logic.append("    // Monitor safety parameters\n");
-                logic.append("  }\n");
-                break;
-
-            case ENGINE_MANAGEMENT:
-                logic.append("  // Engine management logic\n");
-                logic.append("  private engineData: any;\n");
-                logic.append("  private fuelLevel: number;\n\n");
-                logic.append("  monitorEngine(): void {\n");
-                logic.append("    // Monitor engine parameters\n");
-                logic.append("  }\n");
-                break;
-
-            case INFOTAINMENT:
-                logic.append("  // Infotainment logic\n");
-                logic.append("  private mediaPlayer: any;\n");
-                logic.append("  private displayMode: string;\n\n");
-                logic.append("  updateDisplay(): void {\n");
-                logic.append("    // Update display content\n");
-                logic.append("  }\n");
-                break;
-
-            case DIAGNOSTIC:
-                logic.append("  // Diagnostic logic\n");
-                logic.append("  private diagnosticCodes: string[];\n");
-                logic.append("  private dataLogger: any;\n\n");
-                logic.append("  runDiagnostics(): void {\n");
-                logic.append("    // Run diagnostic tests\n");
-                logic.append("  }\n");
-                break;
-
-            default:
-                logic.append("  // Component logic\n");
-        }
-
-        return code.replace("{{CATEGORY_LOGIC}}", logic.toString());
+    @Transactional
+    public BulkGenerationResult generateComponents(List<Workflow> workflows, boolean writeFiles) {
+        return generateComponents(workflows, writeFiles, false);
     }
 
     /**
-     * Generate component styles
+     * Generate components for many workflows; with force, existing components
+     * are re-rendered even when their input fingerprints are unchanged
      */
-    private String generateStyleCode(Workflow workflow) {
-        return String.format("""
-            /* %s Component Styles */
-            
-            :host {
-              display: block;
-              padding: 16px;
+    @Transactional
+    public BulkGenerationResult generateComponents(List<Workflow> workflows, boolean writeFiles, boolean force) {
+        long start = System.currentTimeMillis();
+        BulkGenerationResult result = new BulkGenerationResult();
+        result.setRequested(workflows.size());
+
+        // Only approved workflows produce code, as with single-workflow execution
+        List<Workflow> approved = new ArrayList<>(workflows.size());
+        for (Workflow workflow : workflows) {
+            if (GENERATABLE.contains(workflow.getStatus())) {
+                approved.add(workflow);
+            } else {
+                result.getNotApprovedWorkflowIds().add(workflow.getId());
+            }
+        }
+        workflows = approved;
+
+        // Existing components are regenerated incrementally; repeats within the request are skipped
+        Map<String, Component> existing = new HashMap<>();
+        for (Component component : componentRepository.findByNameIn(
+                workflows.stream().map(Workflow::getComponentName).toList())) {
+            existing.put(component.getName(), component);
+        }
+        Set<String> seen = new HashSet<>();
+        List<Workflow> pending = new ArrayList<>();
+        List<Workflow> stale = new ArrayList<>();
+        for (Workflow workflow : workflows) {
+            String name = workflow.getComponentName();
+            if (!seen.add(name)) {
+                result.getSkipped().add(name);
+            } else if (existing.containsKey(name) && !ownedBy(existing.get(name), workflow)) {
+                result.getConflicts().add(name);
+            } else if (existing.containsKey(name)) {
+                if (!force && fingerprint(workflow).equals(ComponentFingerprint.of(existing.get(name)))) {
+                    result.setUnchanged(result.getUnchanged() + 1);
+                } else {
+                    stale.add(workflow);
+                }
+            } else {
+                pending.add(workflow);
             }
-            
-            .component-container {
-              background-color: #ffffff;
-              border-radius: 8px;
-              box-shadow: 0 2px 4px rgba(0, 0, 0, 0.1);
+        }
+
+        // Existing components are rendered in parallel, then updated in place
+        List<RenderedComponent> refreshed = stale.parallelStream()
+            .map(this::render)
+            .toList();
+        List<CodeBlob> replaced = new ArrayList<>();
+        for (RenderedComponent r : refreshed) {
+            refresh(existing.get(r.workflow().getComponentName()), r, force, replaced);
+        }
+        result.setRegenerated(refreshed.size());
+        componentRepository.flush();
+        replaced.forEach(codeBlobService::release);
+        entityManager.clear();
+        if (writeFiles && !refreshed.isEmpty()) {
+            writeFiles(refreshed, result);
+        }
+
+        for (int from = 0; from < pending.size(); from += bulkChunkSize) {
+            List<Workflow> chunk = pending.subList(from, Math.min(from + bulkChunkSize, pending.size()));
+
+            List<RenderedComponent> rendered = chunk.parallelStream()
+                .map(this::render)
+                .toList();
+
+            List<String> artifacts = new ArrayList<>(rendered.size() * 3);
+            for (RenderedComponent r : rendered) {
+                artifacts.add(r.componentCode());
+                artifacts.add(r.styleCode());
+                artifacts.add(r.testCode());
             }
-            
-            .component-header {
-              font-size: 18px;
-              font-weight: 600;
-              margin-bottom: 16px;
-              color: #333;
+            Map<String, CodeBlob> blobs = codeBlobService.acquireAll(artifacts);
+
+            List<Component> components = new ArrayList<>(rendered.size());
+            for (RenderedComponent r : rendered) {
+                Component component = buildComponent(r.workflow(),
+                    blobs.get(r.componentCode()),
+                    blobs.get(r.styleCode()),
+                    blobs.get(r.testCode()));
+                r.fingerprint().applyTo(component);
+                components.add(component);
             }
-            
-            .component-content {
-              padding: 16px;
+            componentRepository.saveAll(components);
+            componentRepository.flush();
+            componentIndex.putAll(components);
+            entityManager.clear();
+
+            if (writeFiles) {
+                writeFiles(rendered, result);
             }
-            """, workflow.getComponentName());
+            result.setGenerated(result.getGenerated() + components.size());
+            log.info("Bulk generation persisted {} of {} component(s)", result.getGenerated(), pending.size());
+        }
+
+        result.setFilesWritten(writeFiles);
+        result.setDurationMillis(System.currentTimeMillis() - start);
+        return result;
     }
 
     /**
-     * Generate component test code
+     * Render every artifact of a component; thread-safe
      */
-    private String generateTestCode(Workflow workflow) {
-        return String.format("""
-            import { ComponentFixture, TestBed } from '@angular/core/testing';
-            import { %s } from './%s.component';
-            
-            describe('%s', () => {
-              let component: %s;
-              let fixture: ComponentFixture<%s>;
-            
-              beforeEach(async () => {
-                await TestBed.configureTestingModule({
-                  declarations: [ %s ]
-                })
-                .compileComponents();
-            
-                fixture = TestBed.createComponent(%s);
-                component = fixture.componentInstance;
-                fixture.detectChanges();
-              });
-            
-              it('should create', () => {
-                expect(component).toBeTruthy();
-              });
-              
-              it('should initialize with correct category', () => {
-                expect(component.category).toBe('%s');
-              });
-            });
-            """,
-            workflow.getComponentName(),
-            toKebabCase(workflow.getComponentName()),
-            workflow.getComponentName(),
-            workflow.getComponentName(),
-            workflow.getComponentName(),
-            workflow.getComponentName(),
-            workflow.getComponentName(),
-            workflow.getCategory()
-        );
+    private RenderedComponent render(Workflow workflow) {
+        // Get compiled template based on category and type
+        CompiledTemplate template = templateService.getTemplate(workflow.getCategory(), workflow.getComponentType());
+
+        return new RenderedComponent(
+            workflow,
+            fingerprint(workflow),
+            template.render(workflow),
+            templateService.getHtmlTemplate().render(workflow),
+            templateService.getStyleTemplate().render(workflow),
+            templateService.getTestTemplate().render(workflow));
     }
 
     /**
-     * Generate component selector
+     * Whether a component was generated by this workflow; only then may the workflow regenerate it
      */
-    private String generateSelector(String componentName) {
-        return "app-" + toKebabCase(componentName);
+    private static boolean ownedBy(Component component, Workflow workflow) {
+        return Objects.equals(component.getWorkflowId(), workflow.getId());
+    }
+
+    private Component buildComponent(Workflow workflow, CodeBlob templateBlob, CodeBlob styleBlob, CodeBlob testBlob) {
+        return Component.builder()
+            .name(workflow.getComponentName())
+            .description(workflow.getDescription())
+            .category(workflow.getCategory())
+            .componentType(workflow.getComponentType())
+            .selector(ComponentNaming.toSelector(workflow.getComponentName()))
+            .templateBlob(templateBlob)
+            .styleBlob(styleBlob)
+            .testBlob(testBlob)
+            .dependencies(new ArrayList<>(workflow.getDependencies()))
+            .inputs(new ArrayList<>(workflow.getInputs()))
+            .outputs(new ArrayList<>(workflow.getOutputs()))
+            .version("1.0.0")
+            .createdBy(workflow.getCreatedBy())
+            .workflowId(workflow.getId())
+            .isActive(true)
+            .build();
+    }
+
+    private void writeFiles(List<RenderedComponent> rendered, BulkGenerationResult result) {
+        try (ComponentFileWriter.Batch batch = componentFileWriter.openBatch()) {
+            for (RenderedComponent r : rendered) {
+                String name = r.workflow().getComponentName();
+                Map<String, String> files = ComponentFileWriter.componentFiles(
+                    name, r.componentCode(), r.htmlCode(), r.styleCode(), r.testCode());
+                files.put(ComponentFileWriter.FINGERPRINT_FILE, r.fingerprint().combined());
+                if (!batch.stage(name, files)) {
+                    result.getFileConflicts().add(name);
+                }
+            }
+            batch.commit();
+        }
     }
 
     /**
-     * Convert PascalCase to kebab-case
+     * All rendered artifacts of one component
      */
-    private String toKebabCase(String input) {
-        return input.replaceAll("([a-z])([A-Z])", "$1-$2").toLowerCase();
+    private record RenderedComponent(Workflow workflow, ComponentFingerprint fingerprint, String componentCode,
+                                     String htmlCode, String styleCode, String testCode) {
     }
 
     /**
-     * Create component files (placeholder for file system operations)
+     * Create component files for a workflow's generated component
+     *
+     * Transactional itself: the call to the list overload below does not go
+     * through the proxy, and the component's code is loaded lazily.
      */
+    @Transactional(readOnly = true)
     public void createComponentFiles(Workflow workflow) {
-        log.info("Creating component files for: {}", workflow.getComponentName());
-        
-        // In a real implementation, this would create actual files
-        // For this demo, we'll just log the operation
-        
-        String componentPath = "src/app/components/" + toKebabCase(workflow.getComponentName());
-        log.info("Component files would be created at: {}", componentPath);
-        log.info("  - {}.component.ts", toKebabCase(workflow.getComponentName()));
-        log.info("  - {}.component.html", toKebabCase(workflow.getComponentName()));
-        log.info("  - {}.component.scss", toKebabCase(workflow.getComponentName()));
-        log.info("  - {}.component.spec.ts", toKebabCase(workflow.getComponentName()));
+        createComponentFiles(List.of(workflow));
+    }
+
+    /**
+     * Create component files for many workflows, published as one batch
+     */
+    @Transactional(readOnly = true)
+    public void createComponentFiles(List<Workflow> workflows) {
+        try (ComponentFileWriter.Batch batch = componentFileWriter.openBatch()) {
+            for (Workflow workflow : workflows) {
+                log.info("Creating component files for: {}", workflow.getComponentName());
+                Component component = componentRepository.findByName(workflow.getComponentName())
+                    .orElseThrow(() -> new RuntimeException(
+                        "Component not generated yet: " + workflow.getComponentName()));
+
+                // Files on disk carry the fingerprint they were generated from
+                String fingerprint = ComponentFingerprint.of(component).combined();
+                if (fingerprint.equals(componentFileWriter.readFingerprint(component.getName()))) {
+                    log.info("Component files for {} are up to date", component.getName());
+                    continue;
+                }
+
+                Map<String, String> files = ComponentFileWriter.componentFiles(
+                    component.getName(),
+                    component.getTemplateCode(),
+                    templateService.getHtmlTemplate().render(workflow),
+                    component.getStyleCode(),
+                    component.getTestCode());
+                files.put(ComponentFileWriter.FINGERPRINT_FILE, fingerprint);
+                batch.stage(component.getName(), files);
+            }
+            batch.commit();
+        }
     }
 }
\ No newline at end of file
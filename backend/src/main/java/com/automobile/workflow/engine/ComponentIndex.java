@@ -0,0 +1,251 @@
+package com.automobile.workflow.engine;
+
+import com.automobile.workflow.model.Component;
+import com.automobile.workflow.model.ComponentSummary;
+import com.automobile.workflow.model.Workflow;
+import com.automobile.workflow.repository.ComponentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ComponentIndex - In-memory index of component names, active flags and categories
+ *
+ * Loaded from the database on first use and then kept in sync by the
+ * services that create, activate, deactivate or delete components; the
+ * {@link DependencyGraph} and {@link SearchIndex} are updated through the
+ * same hooks. Changes made inside a transaction are applied only after it
+ * commits, so the index never shows a component that was rolled back.
+ *
+ * The index also keeps the component counts served by the statistics
+ * endpoint. They are adjusted on every change and reconciled periodically
+ * with a single GROUP BY query, which corrects any drift from changes made
+ * outside these hooks.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ComponentIndex {
+
+    private final ComponentRepository componentRepository;
+    private final DependencyGraph dependencyGraph;
+    private final SearchIndex searchIndex;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<String> removedWhileLoading = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded;
+
+    private final LongAdder total = new LongAdder();
+    private final LongAdder active = new LongAdder();
+    private final Map<Workflow.ComponentCategory, LongAdder> activeByCategory = counters();
+
+    /**
+     * Whether a component with this name exists
+     */
+    public boolean exists(String name) {
+        ensureLoaded();
+        return name != null && entries.containsKey(name);
+    }
+
+    /**
+     * Whether a component with this name exists and is active
+     */
+    public boolean isActive(String name) {
+        ensureLoaded();
+        Entry entry = name != null ? entries.get(name) : null;
+        return entry != null && entry.active();
+    }
+
+    /**
+     * Record a created or updated component
+     */
+    public void put(Component component) {
+        String name = component.getName();
+        Entry entry = new Entry(Boolean.TRUE.equals(component.getIsActive()), component.getCategory());
+        List<String> dependencies = entry.active() && component.getDependencies() != null
+            ? List.copyOf(component.getDependencies()) : List.of();
+        AfterCommit.run(() -> {
+            count(entries.put(name, entry), entry);
+            dependencyGraph.setDependencies(name, dependencies);
+        });
+        searchIndex.putComponent(component);
+    }
+
+    /**
+     * Record a batch of created or updated components
+     */
+    public void putAll(List<Component> components) {
+        for (Component component : components) {
+            put(component);
+        }
+    }
+
+    /**
+     * Record a deleted component
+     */
+    public void remove(Component component) {
+        String name = component.getName();
+        AfterCommit.run(() -> {
+            forget(name);
+            dependencyGraph.setDependencies(name, List.of());
+        });
+        searchIndex.removeComponent(component.getId());
+    }
+
+    /**
+     * Record a bulk activation or deactivation; dependencies are by component name
+     */
+    public void setActive(List<ComponentSummary> components, Map<String, List<String>> dependencies,
+                          boolean active) {
+        AfterCommit.run(() -> {
+            for (ComponentSummary component : components) {
+                Entry entry = new Entry(active, component.getCategory());
+                count(entries.put(component.getName(), entry), entry);
+                dependencyGraph.setDependencies(component.getName(),
+                    active ? dependencies.getOrDefault(component.getName(), List.of()) : List.of());
+            }
+        });
+        searchIndex.setComponentsActive(components, active);
+    }
+
+    /**
+     * Record bulk-deleted components
+     */
+    public void removeAll(List<ComponentSummary> components) {
+        AfterCommit.run(() -> {
+            for (ComponentSummary component : components) {
+                forget(component.getName());
+                dependencyGraph.setDependencies(component.getName(), List.of());
+            }
+        });
+        searchIndex.removeComponents(components.stream().map(ComponentSummary::getId).toList());
+    }
+
+    /**
+     * Component counts: total, active, and active by category
+     */
+    public Map<String, Object> getStatistics() {
+        ensureLoaded();
+        Map<String, Long> byCategory = new LinkedHashMap<>();
+        activeByCategory.forEach((category, count) -> byCategory.put(category.toString(), count.sum()));
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("total", total.sum());
+        stats.put("active", active.sum());
+        stats.put("byCategory", byCategory);
+        return stats;
+    }
+
+    /**
+     * Reset the counts from the database
+     */
+    @Scheduled(fixedDelayString = "${app.statistics.reconcile-interval-ms:300000}",
+        initialDelayString = "${app.statistics.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (!loaded) {
+            return;
+        }
+        long totalCount = 0;
+        long activeCount = 0;
+        Map<Workflow.ComponentCategory, Long> byCategory = new EnumMap<>(Workflow.ComponentCategory.class);
+        for (Object[] row : componentRepository.countGroupedByCategoryAndActive()) {
+            long count = (Long) row[2];
+            totalCount += count;
+            if (Boolean.TRUE.equals(row[1])) {
+                activeCount += count;
+                if (row[0] != null) {
+                    byCategory.merge((Workflow.ComponentCategory) row[0], count, Long::sum);
+                }
+            }
+        }
+
+        if (totalCount != total.sum() || activeCount != active.sum()) {
+            log.warn("Component counts drifted (total {} -> {}, active {} -> {}), reconciled",
+                total.sum(), totalCount, active.sum(), activeCount);
+        }
+        set(total, totalCount);
+        set(active, activeCount);
+        activeByCategory.forEach((category, count) -> set(count, byCategory.getOrDefault(category, 0L)));
+    }
+
+    private void forget(String name) {
+        if (!loaded) {
+            removedWhileLoading.add(name);
+        }
+        count(entries.remove(name), null);
+    }
+
+    private void count(Entry previous, Entry next) {
+        if (!loaded) {
+            return;
+        }
+        adjust(previous, -1);
+        adjust(next, 1);
+    }
+
+    private void adjust(Entry entry, int delta) {
+        if (entry == null) {
+            return;
+        }
+        total.add(delta);
+        if (entry.active()) {
+            active.add(delta);
+            if (entry.category() != null) {
+                activeByCategory.get(entry.category()).add(delta);
+            }
+        }
+    }
+
+    private static void set(LongAdder counter, long value) {
+        counter.reset();
+        counter.add(value);
+    }
+
+    private static Map<Workflow.ComponentCategory, LongAdder> counters() {
+        Map<Workflow.ComponentCategory, LongAdder> counters = new EnumMap<>(Workflow.ComponentCategory.class);
+        for (Workflow.ComponentCategory category : Workflow.ComponentCategory.values()) {
+            counters.put(category, new LongAdder());
+        }
+        return counters;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            removedWhileLoading.clear();
+            List<Object[]> rows = componentRepository.findIndexEntries();
+            for (Object[] row : rows) {
+                // Changes committed while loading are newer than the snapshot, including deletions
+                String name = (String) row[0];
+                if (!removedWhileLoading.contains(name)) {
+                    entries.putIfAbsent(name,
+                        new Entry(Boolean.TRUE.equals(row[1]), (Workflow.ComponentCategory) row[2]));
+                }
+            }
+            for (Entry entry : entries.values()) {
+                adjust(entry, 1);
+            }
+            loaded = true;
+            removedWhileLoading.clear();
+            log.info("Component index loaded with {} component(s)", rows.size());
+        }
+    }
+
+    private record Entry(boolean active, Workflow.ComponentCategory category) {
+    }
+}
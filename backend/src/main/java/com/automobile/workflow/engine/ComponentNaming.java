@@ -0,0 +1,36 @@
+package com.automobile.workflow.engine;
+
+/**
+ * ComponentNaming - Naming helpers shared by templates and generators
+ *
+ * Derives file names and selectors from PascalCase component names.
+ */
+public final class ComponentNaming {
+
+    private ComponentNaming() {
+    }
+
+    /**
+     * Convert PascalCase to kebab-case (a dash before every lower-to-upper boundary)
+     */
+    public static String toKebabCase(String input) {
+        StringBuilder out = new StringBuilder(input.length() + 8);
+        char previous = 0;
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c >= 'A' && c <= 'Z' && previous >= 'a' && previous <= 'z') {
+                out.append('-');
+            }
+            out.append(Character.toLowerCase(c));
+            previous = c;
+        }
+        return out.toString();
+    }
+
+    /**
+     * Generate component selector
+     */
+    public static String toSelector(String componentName) {
+        return "app-" + toKebabCase(componentName);
+    }
+}
@@ -0,0 +1,412 @@
+package com.automobile.workflow.engine;
+
+import com.automobile.workflow.repository.ComponentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * DependencyGraph - In-memory dependency graph over active components
+ *
+ * Each active component is a node with an edge to every dependency it
+ * declares; dependencies that are not components are kept as leaf nodes so
+ * "who depends on X" also works for external modules. Cycles are tracked as
+ * strongly connected components: adding an edge merges SCCs on the spot,
+ * removing one marks them for a single recomputation on the next cycle
+ * query. Transitive closures are cached per node and only the entries an
+ * edge change can affect are evicted.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DependencyGraph {
+
+    /**
+     * Upper bound on cached closures per direction; beyond it closures are computed per query
+     */
+    private static final int MAX_CACHED_CLOSURES = 20_000;
+
+    private final ComponentRepository componentRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Set<String>> dependencies = new HashMap<>();
+    private final Map<String, Set<String>> dependents = new HashMap<>();
+
+    // Node -> representative of its cycle; only nodes on a cycle are present
+    private final Map<String, String> cycleOf = new HashMap<>();
+    private final Map<String, Set<String>> cycles = new HashMap<>();
+    private boolean cyclesStale;
+
+    private final Map<String, Set<String>> dependencyClosures = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> dependentClosures = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+
+    /**
+     * Direct dependencies of a component
+     */
+    public List<String> getDirectDependencies(String name) {
+        return read(() -> sorted(dependencies.getOrDefault(name, Collections.emptySet())));
+    }
+
+    /**
+     * Components that declare a direct dependency on the given name
+     */
+    public List<String> getDirectDependents(String name) {
+        return read(() -> sorted(dependents.getOrDefault(name, Collections.emptySet())));
+    }
+
+    /**
+     * Everything a component depends on, directly or indirectly
+     */
+    public List<String> getTransitiveDependencies(String name) {
+        return read(() -> sorted(closure(name, dependencies, dependencyClosures)));
+    }
+
+    /**
+     * Every component that depends on the given name, directly or indirectly
+     */
+    public List<String> getTransitiveDependents(String name) {
+        return read(() -> sorted(closure(name, dependents, dependentClosures)));
+    }
+
+    /**
+     * Whether a name is part of a dependency cycle
+     */
+    public boolean isInCycle(String name) {
+        refreshCyclesIfStale();
+        return read(() -> cycleOf.containsKey(name));
+    }
+
+    /**
+     * All dependency cycles, each as the sorted set of names involved
+     */
+    public List<List<String>> getCycles() {
+        refreshCyclesIfStale();
+        return read(() -> {
+            List<List<String>> result = new ArrayList<>();
+            for (Set<String> members : cycles.values()) {
+                result.add(sorted(members));
+            }
+            result.sort((a, b) -> a.get(0).compareTo(b.get(0)));
+            return result;
+        });
+    }
+
+    /**
+     * Node, edge and cycle counts
+     */
+    public Map<String, Object> getStatistics() {
+        refreshCyclesIfStale();
+        return read(() -> {
+            Set<String> nodes = new HashSet<>(dependencies.keySet());
+            nodes.addAll(dependents.keySet());
+            int edges = 0;
+            for (Set<String> targets : dependencies.values()) {
+                edges += targets.size();
+            }
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("nodes", nodes.size());
+            stats.put("edges", edges);
+            stats.put("cycles", cycles.size());
+            stats.put("cachedClosures", dependencyClosures.size() + dependentClosures.size());
+            return stats;
+        });
+    }
+
+    /**
+     * Replace a component's outgoing edges; an empty list removes them.
+     * Ignored until the graph is loaded, since loading reads committed state.
+     */
+    public void setDependencies(String name, Collection<String> newDependencies) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            Set<String> previous = new LinkedHashSet<>(dependencies.getOrDefault(name, Collections.emptySet()));
+            Set<String> next = new LinkedHashSet<>(newDependencies);
+            if (previous.equals(next)) {
+                return;
+            }
+
+            // Closures that can see this node's edges, before and after the change
+            evict(dependencyClosures, reach(name, dependents));
+            evict(dependentClosures, reach(name, dependencies));
+
+            for (String removed : previous) {
+                if (!next.contains(removed)) {
+                    removeEdge(name, removed);
+                }
+            }
+            for (String added : next) {
+                if (!previous.contains(added)) {
+                    addEdge(name, added);
+                }
+            }
+            evict(dependentClosures, reach(name, dependencies));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Build the graph from the database; called on first use
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            List<Object[]> edges = componentRepository.findActiveDependencyEdges();
+            for (Object[] edge : edges) {
+                String from = (String) edge[0];
+                String to = (String) edge[1];
+                dependencies.computeIfAbsent(from, key -> new LinkedHashSet<>()).add(to);
+                dependents.computeIfAbsent(to, key -> new LinkedHashSet<>()).add(from);
+            }
+            recomputeCycles();
+            loaded = true;
+            log.info("Dependency graph loaded: {} edge(s), {} cycle(s)", edges.size(), cycles.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Edge maintenance
+    // ------------------------------------------------------------------
+
+    private void addEdge(String from, String to) {
+        dependencies.computeIfAbsent(from, key -> new LinkedHashSet<>()).add(to);
+        dependents.computeIfAbsent(to, key -> new LinkedHashSet<>()).add(from);
+        if (cyclesStale) {
+            return;
+        }
+
+        String fromCycle = cycleOf.get(from);
+        if (fromCycle != null && fromCycle.equals(cycleOf.get(to))) {
+            return;
+        }
+        if (from.equals(to)) {
+            mergeCycle(Set.of(from));
+            return;
+        }
+        // The new edge closes a cycle iff 'to' already reaches 'from'; the
+        // merged SCC is every node on a path from 'to' back to 'from'
+        Set<String> forward = reach(to, dependencies);
+        if (forward.contains(from)) {
+            Set<String> onCycle = reach(from, dependents);
+            onCycle.retainAll(forward);
+            mergeCycle(onCycle);
+        }
+    }
+
+    private void removeEdge(String from, String to) {
+        removeFrom(dependencies, from, to);
+        removeFrom(dependents, to, from);
+        String fromCycle = cycleOf.get(from);
+        if (fromCycle != null && fromCycle.equals(cycleOf.get(to))) {
+            // Removing an edge can split an SCC; recompute lazily
+            cyclesStale = true;
+        }
+    }
+
+    private static void removeFrom(Map<String, Set<String>> adjacency, String key, String value) {
+        Set<String> values = adjacency.get(key);
+        if (values != null) {
+            values.remove(value);
+            if (values.isEmpty()) {
+                adjacency.remove(key);
+            }
+        }
+    }
+
+    private void mergeCycle(Set<String> members) {
+        Set<String> merged = new HashSet<>(members);
+        for (String member : members) {
+            String previous = cycleOf.get(member);
+            if (previous != null) {
+                Set<String> old = cycles.remove(previous);
+                if (old != null) {
+                    merged.addAll(old);
+                }
+            }
+        }
+        String representative = merged.iterator().next();
+        for (String member : merged) {
+            cycleOf.put(member, representative);
+        }
+        cycles.put(representative, merged);
+        log.warn("Dependency cycle detected between: {}", sorted(merged));
+    }
+
+    private void refreshCyclesIfStale() {
+        ensureLoaded();
+        lock.writeLock().lock();
+        try {
+            if (cyclesStale) {
+                recomputeCycles();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Iterative Tarjan over the whole graph
+     */
+    private void recomputeCycles() {
+        cycleOf.clear();
+        cycles.clear();
+
+        Map<String, Integer> index = new HashMap<>();
+        Map<String, Integer> lowLink = new HashMap<>();
+        Set<String> onStack = new HashSet<>();
+        Deque<String> stack = new ArrayDeque<>();
+        Deque<Map.Entry<String, Iterator<String>>> work = new ArrayDeque<>();
+        int counter = 0;
+
+        for (String root : new ArrayList<>(dependencies.keySet())) {
+            if (index.containsKey(root)) {
+                continue;
+            }
+            index.put(root, counter);
+            lowLink.put(root, counter++);
+            stack.push(root);
+            onStack.add(root);
+            work.push(Map.entry(root, successors(root)));
+
+            while (!work.isEmpty()) {
+                Map.Entry<String, Iterator<String>> frame = work.peek();
+                String node = frame.getKey();
+                Iterator<String> next = frame.getValue();
+                if (next.hasNext()) {
+                    String successor = next.next();
+                    if (!index.containsKey(successor)) {
+                        index.put(successor, counter);
+                        lowLink.put(successor, counter++);
+                        stack.push(successor);
+                        onStack.add(successor);
+                        work.push(Map.entry(successor, successors(successor)));
+                    } else if (onStack.contains(successor)) {
+                        lowLink.put(node, Math.min(lowLink.get(node), index.get(successor)));
+                    }
+                    continue;
+                }
+
+                work.pop();
+                if (!work.isEmpty()) {
+                    String parent = work.peek().getKey();
+                    lowLink.put(parent, Math.min(lowLink.get(parent), lowLink.get(node)));
+                }
+                if (lowLink.get(node).equals(index.get(node))) {
+                    Set<String> component = new HashSet<>();
+                    String member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        component.add(member);
+                    } while (!member.equals(node));
+                    boolean selfLoop = dependencies.getOrDefault(node, Collections.emptySet()).contains(node);
+                    if (component.size() > 1 || selfLoop) {
+                        for (String m : component) {
+                            cycleOf.put(m, node);
+                        }
+                        cycles.put(node, component);
+                    }
+                }
+            }
+        }
+        cyclesStale = false;
+    }
+
+    private Iterator<String> successors(String node) {
+        return dependencies.getOrDefault(node, Collections.emptySet()).iterator();
+    }
+
+    // ------------------------------------------------------------------
+    // Reachability
+    // ------------------------------------------------------------------
+
+    private Set<String> closure(String name, Map<String, Set<String>> adjacency, Map<String, Set<String>> cache) {
+        Set<String> cached = cache.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        Set<String> reached = reach(name, adjacency);
+        reached.remove(name);
+        Set<String> result = Collections.unmodifiableSet(reached);
+        if (cache.size() < MAX_CACHED_CLOSURES) {
+            cache.put(name, result);
+        }
+        return result;
+    }
+
+    /**
+     * Breadth-first reach from a node, including the node itself
+     */
+    private static Set<String> reach(String start, Map<String, Set<String>> adjacency) {
+        Set<String> seen = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>();
+        seen.add(start);
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            for (String next : adjacency.getOrDefault(queue.poll(), Collections.emptySet())) {
+                if (seen.add(next)) {
+                    queue.add(next);
+                }
+            }
+        }
+        return seen;
+    }
+
+    private static void evict(Map<String, Set<String>> cache, Set<String> names) {
+        if (cache.isEmpty()) {
+            return;
+        }
+        if (names.size() > cache.size()) {
+            cache.clear();
+            return;
+        }
+        for (String name : names) {
+            cache.remove(name);
+        }
+    }
+
+    private <T> T read(Supplier<T> query) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<String> sorted(Collection<String> names) {
+        return new ArrayList<>(new TreeSet<>(names));
+    }
+}
@@ -0,0 +1,83 @@
+package com.automobile.workflow.engine;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * EntityCacheMetrics - Hit/miss counts of the Hibernate second-level and query caches
+ *
+ * Regions are named after the cached entity class or collection role (see
+ * ehcache.xml). Counts are cumulative since startup and stay at zero when
+ * hibernate.generate_statistics is off.
+ */
+@Service
+@RequiredArgsConstructor
+public class EntityCacheMetrics {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Hits, misses, puts and cached entries for each region whose name starts with one of the prefixes
+     */
+    public Map<String, Map<String, Long>> getRegionStatistics(String... prefixes) {
+        Statistics statistics = statistics();
+        Map<String, Map<String, Long>> regions = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            if (!matches(region, prefixes)) {
+                continue;
+            }
+            CacheRegionStatistics stats = statistics.getDomainDataRegionStatistics(region);
+            if (stats != null) {
+                regions.put(shortName(region), Map.of(
+                    "hits", stats.getHitCount(),
+                    "misses", stats.getMissCount(),
+                    "puts", stats.getPutCount(),
+                    "entries", stats.getElementCountInMemory()
+                ));
+            }
+        }
+        return regions;
+    }
+
+    /**
+     * Hits, misses and puts of the query result cache
+     */
+    public Map<String, Long> getQueryCacheStatistics() {
+        Statistics statistics = statistics();
+        return Map.of(
+            "hits", statistics.getQueryCacheHitCount(),
+            "misses", statistics.getQueryCacheMissCount(),
+            "puts", statistics.getQueryCachePutCount()
+        );
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static boolean matches(String region, String... prefixes) {
+        for (String prefix : prefixes) {
+            if (region.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Region name without the model package, e.g. "Workflow.steps"
+     */
+    private static String shortName(String region) {
+        int start = region.lastIndexOf('.', region.lastIndexOf('.') - 1);
+        String last = region.substring(region.lastIndexOf('.') + 1);
+        // Entity regions end with the class name, collection regions with the role
+        return Character.isUpperCase(last.charAt(0)) ? last : region.substring(start + 1);
+    }
+}
@@ -0,0 +1,24 @@
+package com.automobile.workflow.engine;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ImpactReport - What is affected when a dependency component changes
+ * 
+ * Lists the components that import the dependency (directly, or through
+ * other components when transitive) and the workflows involved. Components
+ * are regenerated from their owning workflows.
+ */
+@Data
+public class ImpactReport {
+
+    private String dependency;
+    private boolean transitive;
+    private List<String> affectedComponents = new ArrayList<>();
+    private List<Long> affectedWorkflowIds = new ArrayList<>();
+    private List<Long> componentWorkflowIds = new ArrayList<>();
+    private BulkGenerationResult regeneration;
+}
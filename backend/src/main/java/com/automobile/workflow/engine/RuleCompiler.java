@@ -0,0 +1,326 @@
+package com.automobile.workflow.engine;
+
+import com.automobile.workflow.model.Workflow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * RuleCompiler - Compiles validation rule expressions into predicates
+ *
+ * Grammar:
+ * <pre>
+ *   rule       := or
+ *   or         := and ( ('or' | '||') and )*
+ *   and        := unary ( ('and' | '&amp;&amp;') unary )*
+ *   unary      := ('not' | '!') unary | '(' or ')' | comparison
+ *   comparison := field op 'text'           text fields and lists
+ *               | field.size cmp number     list size / text length
+ * </pre>
+ * Text fields: name, componentName, componentType, description, category,
+ * templateName, createdBy. List fields: dependencies, inputs, outputs.
+ * Operators: ==, !=, contains, startsWith, endsWith, matches. On lists,
+ * contains tests for an element and the other operators match any element.
+ * Comparators for sizes: ==, !=, &lt;, &lt;=, &gt;, &gt;=.
+ *
+ * Examples: {@code dependencies contains 'DataLogger'},
+ * {@code componentName matches '.*Monitor' and dependencies.size >= 2}.
+ * Regular expressions are compiled once, at rule compile time.
+ */
+public final class RuleCompiler {
+
+    private static final Map<String, Function<Workflow, String>> TEXT_FIELDS = Map.of(
+        "name", Workflow::getName,
+        "componentName", Workflow::getComponentName,
+        "componentType", Workflow::getComponentType,
+        "description", Workflow::getDescription,
+        "category", workflow -> workflow.getCategory() != null ? workflow.getCategory().name() : null,
+        "templateName", Workflow::getTemplateName,
+        "createdBy", Workflow::getCreatedBy
+    );
+
+    private static final Map<String, Function<Workflow, List<String>>> LIST_FIELDS = Map.of(
+        "dependencies", Workflow::getDependencies,
+        "inputs", Workflow::getInputs,
+        "outputs", Workflow::getOutputs
+    );
+
+    private static final Set<String> OPERATORS = Set.of(
+        "==", "!=", "<", "<=", ">", ">=", "equals", "contains", "startsWith", "endsWith", "matches");
+
+    private static final String SIZE_SUFFIX = ".size";
+
+    /** A '!' that negates, as opposed to the first character of '!=' */
+    private static final Pattern NEGATION = Pattern.compile("!(?!=)");
+
+    private RuleCompiler() {
+    }
+
+    /**
+     * Compile a rule; never throws - parse problems are returned as an invalid rule
+     */
+    public static CompiledRule compile(String source) {
+        String text = source != null ? source.trim() : "";
+        if (!looksLikeExpression(text)) {
+            return CompiledRule.descriptive(source);
+        }
+        try {
+            Parser parser = new Parser(tokenize(text));
+            Predicate<Workflow> predicate = parser.parseOr();
+            if (parser.hasMore()) {
+                throw new IllegalArgumentException("Unexpected '" + parser.peek() + "'");
+            }
+            return CompiledRule.expression(source, predicate);
+        } catch (IllegalArgumentException e) {
+            return CompiledRule.invalid(source, e.getMessage());
+        }
+    }
+
+    /**
+     * A rule is an expression if, after any leading 'not' / '!' / '(', it starts
+     * with a field followed by an operator; anything else is free text
+     */
+    private static boolean looksLikeExpression(String text) {
+        String[] words = NEGATION.matcher(text.replace("(", " ")).replaceAll(" ")
+            .replace("!=", " != ").trim().split("\\s+");
+        int i = 0;
+        while (i < words.length && words[i].equalsIgnoreCase("not")) {
+            i++;
+        }
+        return i + 1 < words.length && isField(words[i]) && OPERATORS.contains(words[i + 1]);
+    }
+
+    private static boolean isField(String token) {
+        String field = token.endsWith(SIZE_SUFFIX) ? token.substring(0, token.length() - SIZE_SUFFIX.length()) : token;
+        return TEXT_FIELDS.containsKey(field) || LIST_FIELDS.containsKey(field);
+    }
+
+    // ------------------------------------------------------------------
+    // Tokenizer: identifiers, quoted strings (kept with a leading quote), numbers, operators
+    // ------------------------------------------------------------------
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'' || c == '"') {
+                StringBuilder literal = new StringBuilder().append('\'');
+                int j = i + 1;
+                while (j < text.length() && text.charAt(j) != c) {
+                    if (text.charAt(j) == '\\' && j + 1 < text.length()) {
+                        j++;
+                    }
+                    literal.append(text.charAt(j++));
+                }
+                if (j >= text.length()) {
+                    throw new IllegalArgumentException("Unterminated string literal");
+                }
+                tokens.add(literal.toString());
+                i = j + 1;
+            } else if (Character.isLetterOrDigit(c) || c == '_') {
+                int j = i;
+                while (j < text.length() && (Character.isLetterOrDigit(text.charAt(j))
+                        || text.charAt(j) == '_' || text.charAt(j) == '.')) {
+                    j++;
+                }
+                tokens.add(text.substring(i, j));
+                i = j;
+            } else if (text.startsWith("==", i) || text.startsWith("!=", i) || text.startsWith("<=", i)
+                    || text.startsWith(">=", i) || text.startsWith("&&", i) || text.startsWith("||", i)) {
+                tokens.add(text.substring(i, i + 2));
+                i += 2;
+            } else if ("()<>!".indexOf(c) >= 0) {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else {
+                throw new IllegalArgumentException("Unexpected character '" + c + "'");
+            }
+        }
+        return tokens;
+    }
+
+    // ------------------------------------------------------------------
+    // Recursive-descent parser producing predicates
+    // ------------------------------------------------------------------
+
+    private static final class Parser {
+
+        private final List<String> tokens;
+        private int index;
+
+        Parser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        boolean hasMore() {
+            return index < tokens.size();
+        }
+
+        String peek() {
+            return hasMore() ? tokens.get(index) : "";
+        }
+
+        private String next(String expected) {
+            if (!hasMore()) {
+                throw new IllegalArgumentException("Expected " + expected + " but the rule ended");
+            }
+            return tokens.get(index++);
+        }
+
+        private boolean accept(String... options) {
+            for (String option : options) {
+                if (peek().equalsIgnoreCase(option)) {
+                    index++;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        Predicate<Workflow> parseOr() {
+            Predicate<Workflow> left = parseAnd();
+            while (accept("or", "||")) {
+                left = left.or(parseAnd());
+            }
+            return left;
+        }
+
+        private Predicate<Workflow> parseAnd() {
+            Predicate<Workflow> left = parseUnary();
+            while (accept("and", "&&")) {
+                left = left.and(parseUnary());
+            }
+            return left;
+        }
+
+        private Predicate<Workflow> parseUnary() {
+            if (accept("not", "!")) {
+                return parseUnary().negate();
+            }
+            if (accept("(")) {
+                Predicate<Workflow> inner = parseOr();
+                if (!accept(")")) {
+                    throw new IllegalArgumentException("Missing ')'");
+                }
+                return inner;
+            }
+            return parseComparison();
+        }
+
+        private Predicate<Workflow> parseComparison() {
+            String field = next("a field");
+            String operator = next("an operator after '" + field + "'");
+
+            if (field.endsWith(SIZE_SUFFIX)) {
+                return sizeComparison(field.substring(0, field.length() - SIZE_SUFFIX.length()), operator,
+                    next("a number"));
+            }
+
+            String operand = next("a quoted value");
+            if (!operand.startsWith("'")) {
+                throw new IllegalArgumentException("Expected a quoted value after '" + operator + "'");
+            }
+            Predicate<String> test = textTest(operator, operand.substring(1));
+
+            Function<Workflow, String> text = TEXT_FIELDS.get(field);
+            if (text != null) {
+                return workflow -> {
+                    String value = text.apply(workflow);
+                    return value != null && test.test(value);
+                };
+            }
+            Function<Workflow, List<String>> list = LIST_FIELDS.get(field);
+            if (list == null) {
+                throw new IllegalArgumentException("Unknown field '" + field + "'");
+            }
+            if (operator.equals("contains")) {
+                String element = operand.substring(1);
+                return workflow -> nonNull(list.apply(workflow)).contains(element);
+            }
+            if (operator.equals("!=")) {
+                return workflow -> nonNull(list.apply(workflow)).stream().allMatch(test);
+            }
+            return workflow -> nonNull(list.apply(workflow)).stream().anyMatch(test);
+        }
+
+        private Predicate<String> textTest(String operator, String operand) {
+            switch (operator) {
+                case "==":
+                case "equals":
+                    return operand::equals;
+                case "!=":
+                    return value -> !operand.equals(value);
+                case "contains":
+                    return value -> value.contains(operand);
+                case "startsWith":
+                    return value -> value.startsWith(operand);
+                case "endsWith":
+                    return value -> value.endsWith(operand);
+                case "matches":
+                    try {
+                        Pattern pattern = Pattern.compile(operand);
+                        return value -> pattern.matcher(value).matches();
+                    } catch (PatternSyntaxException e) {
+                        throw new IllegalArgumentException("Invalid pattern '" + operand + "'");
+                    }
+                default:
+                    throw new IllegalArgumentException("Unknown operator '" + operator + "'");
+            }
+        }
+
+        private Predicate<Workflow> sizeComparison(String field, String comparator, String number) {
+            int expected;
+            try {
+                expected = Integer.parseInt(number);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Expected a number but found '" + number + "'");
+            }
+
+            ToIntFunction<Workflow> size;
+            Function<Workflow, List<String>> list = LIST_FIELDS.get(field);
+            Function<Workflow, String> text = TEXT_FIELDS.get(field);
+            if (list != null) {
+                size = workflow -> nonNull(list.apply(workflow)).size();
+            } else if (text != null) {
+                size = workflow -> {
+                    String value = text.apply(workflow);
+                    return value != null ? value.length() : 0;
+                };
+            } else {
+                throw new IllegalArgumentException("Unknown field '" + field + "'");
+            }
+
+            switch (comparator) {
+                case "==":
+                    return workflow -> size.applyAsInt(workflow) == expected;
+                case "!=":
+                    return workflow -> size.applyAsInt(workflow) != expected;
+                case "<":
+                    return workflow -> size.applyAsInt(workflow) < expected;
+                case "<=":
+                    return workflow -> size.applyAsInt(workflow) <= expected;
+                case ">":
+                    return workflow -> size.applyAsInt(workflow) > expected;
+                case ">=":
+                    return workflow -> size.applyAsInt(workflow) >= expected;
+                default:
+                    throw new IllegalArgumentException("Unknown comparator '" + comparator + "'");
+            }
+        }
+    }
+
+    private static List<String> nonNull(List<String> values) {
+        return values != null ? values : Collections.emptyList();
+    }
+}
@@ -0,0 +1,133 @@
+package com.automobile.workflow.engine;
+
+import com.automobile.workflow.model.Component;
+import com.automobile.workflow.model.ComponentSummary;
+import com.automobile.workflow.model.Workflow;
+import com.automobile.workflow.repository.ComponentRepository;
+import com.automobile.workflow.repository.WorkflowRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * SearchIndex - Trigram search over active component and workflow names and descriptions
+ *
+ * Each index is loaded from the database on first search and then kept in
+ * sync by the services that save or delete components and workflows, after
+ * their transaction commits. Inactive components are not indexed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndex {
+
+    /**
+     * Upper bound on the ranked hits a search returns
+     */
+    public static final int MAX_RESULTS = 1000;
+
+    private final ComponentRepository componentRepository;
+    private final WorkflowRepository workflowRepository;
+
+    private final TrigramIndex components = new TrigramIndex();
+    private final TrigramIndex workflows = new TrigramIndex();
+    private volatile boolean componentsLoaded;
+    private volatile boolean workflowsLoaded;
+
+    /**
+     * Ids of active components matching the query, best match first
+     */
+    public List<Long> searchComponents(String query, Workflow.ComponentCategory category) {
+        if (!componentsLoaded) {
+            synchronized (this) {
+                if (!componentsLoaded) {
+                    load(components, "component", componentRepository.findSearchEntries());
+                    componentsLoaded = true;
+                }
+            }
+        }
+        return components.search(query, category, MAX_RESULTS);
+    }
+
+    /**
+     * Ids of workflows matching the query, best match first
+     */
+    public List<Long> searchWorkflows(String query, Workflow.ComponentCategory category) {
+        if (!workflowsLoaded) {
+            synchronized (this) {
+                if (!workflowsLoaded) {
+                    load(workflows, "workflow", workflowRepository.findSearchEntries());
+                    workflowsLoaded = true;
+                }
+            }
+        }
+        return workflows.search(query, category, MAX_RESULTS);
+    }
+
+    /**
+     * Record a saved component; deactivated components leave the index
+     */
+    public void putComponent(Component component) {
+        Long id = component.getId();
+        String name = component.getName();
+        String description = component.getDescription();
+        Workflow.ComponentCategory category = component.getCategory();
+        boolean active = Boolean.TRUE.equals(component.getIsActive());
+        AfterCommit.run(() -> {
+            if (active) {
+                components.put(id, name, description, category);
+            } else {
+                components.remove(id);
+            }
+        });
+    }
+
+    public void removeComponent(Long id) {
+        AfterCommit.run(() -> components.remove(id));
+    }
+
+    /**
+     * Record a bulk activation (the components enter the index) or deactivation (they leave it)
+     */
+    public void setComponentsActive(List<ComponentSummary> changed, boolean active) {
+        AfterCommit.run(() -> {
+            for (ComponentSummary component : changed) {
+                if (active) {
+                    components.put(component.getId(), component.getName(), component.getDescription(),
+                        component.getCategory());
+                } else {
+                    components.remove(component.getId());
+                }
+            }
+        });
+    }
+
+    public void removeComponents(List<Long> ids) {
+        AfterCommit.run(() -> ids.forEach(components::remove));
+    }
+
+    /**
+     * Record a saved workflow
+     */
+    public void putWorkflow(Workflow workflow) {
+        Long id = workflow.getId();
+        String name = workflow.getName();
+        String description = workflow.getDescription();
+        Workflow.ComponentCategory category = workflow.getCategory();
+        AfterCommit.run(() -> workflows.put(id, name, description, category));
+    }
+
+    public void removeWorkflow(Long id) {
+        AfterCommit.run(() -> workflows.remove(id));
+    }
+
+    private static void load(TrigramIndex index, String kind, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            // Changes committed while loading are newer than the snapshot
+            index.putIfAbsent((Long) row[0], (String) row[1], (String) row[2], (Workflow.ComponentCategory) row[3]);
+        }
+        log.info("Search index loaded with {} {}(s)", rows.size(), kind);
+    }
+}
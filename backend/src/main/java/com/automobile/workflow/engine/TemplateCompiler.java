@@ -0,0 +1,388 @@
+package com.automobile.workflow.engine;
+
+import com.automobile.workflow.engine.CompiledTemplate.RenderContext;
+import com.automobile.workflow.engine.CompiledTemplate.RenderNode;
+import com.automobile.workflow.model.Workflow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * TemplateCompiler - Compiles component templates into render functions
+ *
+ * Supported syntax:
+ * - {{NAME}} and {{NAME|filter}} - scalar placeholders (filters: kebab, lower, upper, html)
+ * - {{#if NAME}} ... {{else}} ... {{/if}} - conditional on a non-empty value or list
+ * - {{#unless NAME}} ... {{/unless}} - inverse conditional
+ * - {{#each LIST}} ... {{/each}} - loop over dependencies, inputs or outputs;
+ *   the current item is available as {{this}}, which is rejected outside a loop
+ *
+ * A block tag that sits alone on its line removes that whole line from the
+ * output, so loops can emit one line per item. Placeholders and filters are
+ * resolved to accessor lambdas at compile time; unknown names fail fast.
+ */
+public final class TemplateCompiler {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private static final Map<String, Function<RenderContext, String>> SCALARS = Map.of(
+        "COMPONENT_NAME", ctx -> ctx.workflow.getComponentName(),
+        "SELECTOR", ctx -> ComponentNaming.toSelector(ctx.workflow.getComponentName()),
+        "DESCRIPTION", ctx -> ctx.workflow.getDescription() != null ? ctx.workflow.getDescription() : "",
+        "CATEGORY", ctx -> ctx.workflow.getCategory().toString(),
+        "COMPONENT_TYPE", ctx -> ctx.workflow.getComponentType(),
+        "this", ctx -> ctx.item
+    );
+
+    private static final Map<String, Function<RenderContext, List<String>>> LISTS = Map.of(
+        "dependencies", ctx -> nonNull(ctx.workflow.getDependencies()),
+        "inputs", ctx -> nonNull(ctx.workflow.getInputs()),
+        "outputs", ctx -> nonNull(ctx.workflow.getOutputs())
+    );
+
+    private static final Map<String, Function<String, String>> FILTERS = Map.of(
+        "kebab", ComponentNaming::toKebabCase,
+        "lower", value -> value.toLowerCase(Locale.ROOT),
+        "upper", value -> value.toUpperCase(Locale.ROOT),
+        "html", TemplateCompiler::escapeHtml
+    );
+
+    private TemplateCompiler() {
+    }
+
+    /**
+     * Compile template source into a reusable render tree
+     */
+    public static CompiledTemplate compile(String name, String source) {
+        List<Token> tokens = tokenize(name, source);
+        Parser parser = new Parser(name, tokens);
+        RenderNode root = parser.parseBlock(null);
+        return new CompiledTemplate(name, CodeBlobService.hash(source), root, parser.literalLength + 256);
+    }
+
+    // ------------------------------------------------------------------
+    // Tokenizer
+    // ------------------------------------------------------------------
+
+    private enum TokenType { TEXT, VARIABLE, OPEN_BLOCK, ELSE, CLOSE_BLOCK }
+
+    private record Token(TokenType type, String keyword, String argument) {
+    }
+
+    private static List<Token> tokenize(String name, String source) {
+        List<Token> tokens = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        int pos = 0;
+
+        while (pos < source.length()) {
+            int start = source.indexOf(OPEN, pos);
+            if (start < 0) {
+                text.append(source, pos, source.length());
+                break;
+            }
+            int end = source.indexOf(CLOSE, start + OPEN.length());
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed tag in template " + name + " at offset " + start);
+            }
+            end += CLOSE.length();
+
+            String body = source.substring(start + OPEN.length(), end - CLOSE.length()).trim();
+            Token token = toToken(name, body);
+
+            int textEnd = start;
+            int resume = end;
+            if (token.type() != TokenType.VARIABLE) {
+                // Standalone block tags swallow their whole line
+                int lineStart = source.lastIndexOf('\n', start - 1) + 1;
+                int lineEnd = source.indexOf('\n', end);
+                if (lineEnd < 0) {
+                    lineEnd = source.length();
+                }
+                if (lineStart >= pos && source.substring(lineStart, start).isBlank()
+                        && source.substring(end, lineEnd).isBlank()) {
+                    textEnd = lineStart;
+                    resume = Math.min(lineEnd + 1, source.length());
+                }
+            }
+
+            text.append(source, pos, textEnd);
+            if (text.length() > 0) {
+                tokens.add(new Token(TokenType.TEXT, null, text.toString()));
+                text.setLength(0);
+            }
+            tokens.add(token);
+            pos = resume;
+        }
+
+        if (text.length() > 0) {
+            tokens.add(new Token(TokenType.TEXT, null, text.toString()));
+        }
+        return tokens;
+    }
+
+    private static Token toToken(String name, String body) {
+        if (body.startsWith("#")) {
+            String[] parts = body.substring(1).trim().split("\\s+", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Block tag needs an argument in template " + name + ": " + body);
+            }
+            return new Token(TokenType.OPEN_BLOCK, parts[0], parts[1].trim());
+        }
+        if (body.startsWith("/")) {
+            return new Token(TokenType.CLOSE_BLOCK, body.substring(1).trim(), null);
+        }
+        if (body.equals("else")) {
+            return new Token(TokenType.ELSE, "else", null);
+        }
+        return new Token(TokenType.VARIABLE, null, body);
+    }
+
+    // ------------------------------------------------------------------
+    // Parser / code generation
+    // ------------------------------------------------------------------
+
+    private static final class Parser {
+
+        private final String name;
+        private final List<Token> tokens;
+        private int index;
+        private int literalLength;
+        private int loopDepth;
+
+        Parser(String name, List<Token> tokens) {
+            this.name = name;
+            this.tokens = tokens;
+        }
+
+        /**
+         * Parse nodes until the closing tag of the enclosing block (or end of input)
+         */
+        RenderNode parseBlock(String enclosing) {
+            List<RenderNode> nodes = new ArrayList<>();
+            StringBuilder pendingText = new StringBuilder();
+
+            while (index < tokens.size()) {
+                Token token = tokens.get(index);
+                if (token.type() == TokenType.CLOSE_BLOCK || token.type() == TokenType.ELSE) {
+                    if (enclosing == null) {
+                        throw new IllegalArgumentException("Unexpected {{" + token.keyword() + "}} in template " + name);
+                    }
+                    break;
+                }
+                index++;
+
+                if (token.type() == TokenType.TEXT) {
+                    // Adjacent literals are fused into a single append
+                    pendingText.append(token.argument());
+                    continue;
+                }
+                flushText(pendingText, nodes);
+
+                if (token.type() == TokenType.VARIABLE) {
+                    nodes.add(compileVariable(token.argument()));
+                } else {
+                    nodes.add(compileBlock(token));
+                }
+            }
+
+            if (enclosing != null && index >= tokens.size()) {
+                throw new IllegalArgumentException("Missing {{/" + enclosing + "}} in template " + name);
+            }
+            flushText(pendingText, nodes);
+            return sequence(nodes);
+        }
+
+        private void flushText(StringBuilder pendingText, List<RenderNode> nodes) {
+            if (pendingText.length() == 0) {
+                return;
+            }
+            String literal = pendingText.toString();
+            literalLength += literal.length();
+            nodes.add((ctx, out) -> out.append(literal));
+            pendingText.setLength(0);
+        }
+
+        private RenderNode compileVariable(String expression) {
+            String[] parts = expression.split("\\|");
+            requireLoopFor(parts[0].trim());
+            Function<RenderContext, String> getter = SCALARS.get(parts[0].trim());
+            if (getter == null) {
+                throw new IllegalArgumentException("Unknown placeholder '" + parts[0].trim() + "' in template " + name);
+            }
+            for (int i = 1; i < parts.length; i++) {
+                Function<String, String> filter = FILTERS.get(parts[i].trim());
+                if (filter == null) {
+                    throw new IllegalArgumentException("Unknown filter '" + parts[i].trim() + "' in template " + name);
+                }
+                getter = getter.andThen(filter);
+            }
+            Function<RenderContext, String> resolved = getter;
+            return (ctx, out) -> out.append(resolved.apply(ctx));
+        }
+
+        private RenderNode compileBlock(Token open) {
+            String keyword = open.keyword();
+            String argument = open.argument();
+
+            boolean isLoop = keyword.equals("each");
+            if (isLoop) {
+                loopDepth++;
+            }
+            RenderNode body = parseBlock(keyword);
+            if (isLoop) {
+                loopDepth--;
+            }
+            RenderNode otherwise = null;
+            if (tokens.get(index).type() == TokenType.ELSE) {
+                index++;
+                otherwise = parseBlock(keyword);
+            }
+            Token close = tokens.get(index++);
+            if (!keyword.equals(close.keyword())) {
+                throw new IllegalArgumentException("Expected {{/" + keyword + "}} but found {{/"
+                    + close.keyword() + "}} in template " + name);
+            }
+
+            switch (keyword) {
+                case "if":
+                    return conditional(condition(argument), body, otherwise);
+                case "unless":
+                    return conditional(condition(argument).negate(), body, otherwise);
+                case "each":
+                    if (otherwise != null) {
+                        throw new IllegalArgumentException("{{else}} is not supported in {{#each}} in template " + name);
+                    }
+                    return loop(argument, body);
+                default:
+                    throw new IllegalArgumentException("Unknown block '" + keyword + "' in template " + name);
+            }
+        }
+
+        private Predicate<RenderContext> condition(String argument) {
+            requireLoopFor(argument);
+            Function<RenderContext, List<String>> list = LISTS.get(argument);
+            if (list != null) {
+                return ctx -> !list.apply(ctx).isEmpty();
+            }
+            Function<RenderContext, String> scalar = SCALARS.get(argument);
+            if (scalar != null) {
+                return ctx -> {
+                    String value = scalar.apply(ctx);
+                    return value != null && !value.isEmpty();
+                };
+            }
+            throw new IllegalArgumentException("Unknown condition '" + argument + "' in template " + name);
+        }
+
+        /**
+         * The loop item only exists inside {{#each}}; elsewhere it would render as "null"
+         */
+        private void requireLoopFor(String placeholder) {
+            if (placeholder.equals("this") && loopDepth == 0) {
+                throw new IllegalArgumentException("{{this}} outside {{#each}} in template " + name);
+            }
+        }
+
+        private RenderNode loop(String argument, RenderNode body) {
+            Function<RenderContext, List<String>> list = LISTS.get(argument);
+            if (list == null) {
+                throw new IllegalArgumentException("Unknown list '" + argument + "' in template " + name);
+            }
+            return (ctx, out) -> {
+                String outer = ctx.item;
+                for (String item : list.apply(ctx)) {
+                    ctx.item = item;
+                    body.render(ctx, out);
+                }
+                ctx.item = outer;
+            };
+        }
+    }
+
+    private static RenderNode conditional(Predicate<RenderContext> test, RenderNode body, RenderNode otherwise) {
+        if (otherwise == null) {
+            return (ctx, out) -> {
+                if (test.test(ctx)) {
+                    body.render(ctx, out);
+                }
+            };
+        }
+        return (ctx, out) -> {
+            if (test.test(ctx)) {
+                body.render(ctx, out);
+            } else {
+                otherwise.render(ctx, out);
+            }
+        };
+    }
+
+    /**
+     * Chain nodes; short sequences get dedicated lambdas so the JIT can inline them
+     */
+    private static RenderNode sequence(List<RenderNode> nodes) {
+        switch (nodes.size()) {
+            case 0:
+                return (ctx, out) -> { };
+            case 1:
+                return nodes.get(0);
+            case 2: {
+                RenderNode first = nodes.get(0);
+                RenderNode second = nodes.get(1);
+                return (ctx, out) -> {
+                    first.render(ctx, out);
+                    second.render(ctx, out);
+                };
+            }
+            default: {
+                RenderNode[] all = nodes.toArray(new RenderNode[0]);
+                return (ctx, out) -> {
+                    for (RenderNode node : all) {
+                        node.render(ctx, out);
+                    }
+                };
+            }
+        }
+    }
+
+    /**
+     * Escape text for use in HTML content and attribute values; braces are
+     * escaped too so Angular does not read {{ }} in the text as interpolation
+     */
+    static String escapeHtml(String value) {
+        StringBuilder escaped = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement = switch (c) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                case '{' -> "&#123;";
+                case '}' -> "&#125;";
+                default -> null;
+            };
+            if (replacement == null) {
+                if (escaped != null) {
+                    escaped.append(c);
+                }
+                continue;
+            }
+            if (escaped == null) {
+                escaped = new StringBuilder(value.length() + 16).append(value, 0, i);
+            }
+            escaped.append(replacement);
+        }
+        return escaped != null ? escaped.toString() : value;
+    }
+
+    private static List<String> nonNull(List<String> values) {
+        return values != null ? values : Collections.emptyList();
+    }
+}
@@ -0,0 +1,403 @@
+package com.automobile.workflow.engine;
+
+import com.automobile.workflow.model.Workflow.ComponentCategory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * TrigramIndex - In-memory name/description search over documents keyed by id
+ *
+ * Text is split into lower-case words (camelCase names also yield each hump),
+ * and every word is indexed by the trigrams of {@code "  word "}, so the
+ * leading padding supports prefix queries of any length. A query term is a
+ * substring match, or a prefix match when it ends with {@code *}; all terms
+ * must match. Candidates come from intersecting posting lists and are then
+ * verified against the words, so there are no false positives. Hits are
+ * ranked by where each term matched: the whole name, a name word, then the
+ * description.
+ *
+ * Each stored version of a document gets a new slot number and posting lists
+ * are append-only sorted int arrays. Replaced or removed slots are left as
+ * tombstones and skipped at query time; the lists are rebuilt once
+ * tombstones outnumber live documents.
+ */
+public final class TrigramIndex {
+
+    private static final int GRAM = 3;
+    private static final int MIN_COMPACTION = 1024;
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern HUMP = Pattern.compile(
+        "(?<=[\\p{Lower}\\p{Digit}])(?=\\p{Upper})|(?<=\\p{Upper})(?=\\p{Upper}\\p{Lower})");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private Document[] slots = new Document[64];
+    private int nextSlot;
+    private int tombstones;
+
+    /**
+     * Add or replace a document
+     */
+    public void put(long id, String name, String description, ComponentCategory category) {
+        Document document = new Document(id, name, description, category);
+        lock.writeLock().lock();
+        try {
+            Integer previous = slotById.get(id);
+            if (previous != null) {
+                slots[previous] = null;
+                tombstones++;
+            }
+            int slot = store(document);
+            slotById.put(id, slot);
+            index(document, slot);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a document unless one with this id is already present
+     */
+    public void putIfAbsent(long id, String name, String description, ComponentCategory category) {
+        lock.writeLock().lock();
+        try {
+            if (!slotById.containsKey(id)) {
+                put(id, name, description, category);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.remove(id);
+            if (slot != null) {
+                slots[slot] = null;
+                tombstones++;
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the documents matching every query term, best match first
+     *
+     * @param category   only documents in this category, or null for all
+     * @param maxResults upper bound on the number of ids returned
+     */
+    public List<Long> search(String query, ComponentCategory category, int maxResults) {
+        List<Term> terms = Term.parse(query);
+        if (terms.isEmpty() || maxResults <= 0) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Keep only the best maxResults hits; the head of the queue is the weakest one
+            PriorityQueue<Hit> best = new PriorityQueue<>(RANKING.reversed());
+            int[] candidates = candidates(terms);
+            int count = candidates != null ? candidates.length : nextSlot;
+            for (int i = 0; i < count; i++) {
+                Document document = slots[candidates != null ? candidates[i] : i];
+                if (document == null || (category != null && category != document.category)) {
+                    continue;
+                }
+                int score = document.score(terms);
+                if (score == 0) {
+                    continue;
+                }
+                Hit hit = new Hit(document, score);
+                if (best.size() < maxResults) {
+                    best.add(hit);
+                } else if (RANKING.compare(hit, best.peek()) < 0) {
+                    best.poll();
+                    best.add(hit);
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(RANKING);
+            List<Long> ids = new ArrayList<>(hits.size());
+            for (Hit hit : hits) {
+                ids.add(hit.document.id);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Slots containing every trigram of every term, or null if no term has a
+     * trigram (every slot is then a candidate)
+     */
+    private int[] candidates(List<Term> terms) {
+        List<Postings> lists = new ArrayList<>();
+        for (Term term : terms) {
+            for (String gram : term.grams) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+        }
+        if (lists.isEmpty()) {
+            return null;
+        }
+
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        Postings smallest = lists.get(0);
+        int[] result = Arrays.copyOf(smallest.slots, smallest.size);
+        int size = result.length;
+        for (int i = 1; i < lists.size() && size > 0; i++) {
+            size = lists.get(i).retain(result, size);
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private int store(Document document) {
+        if (nextSlot == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+        }
+        slots[nextSlot] = document;
+        return nextSlot++;
+    }
+
+    private void index(Document document, int slot) {
+        Set<String> grams = new LinkedHashSet<>();
+        document.collectGrams(grams);
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(slot);
+        }
+    }
+
+    /**
+     * Renumber live documents into fresh slots and rebuild the posting lists
+     */
+    private void compactIfNeeded() {
+        if (tombstones < MIN_COMPACTION || tombstones < slotById.size()) {
+            return;
+        }
+        Document[] live = slots;
+        int liveCount = nextSlot;
+        slots = new Document[Math.max(64, slotById.size() * 2)];
+        nextSlot = 0;
+        tombstones = 0;
+        postings.clear();
+        for (int i = 0; i < liveCount; i++) {
+            if (live[i] != null) {
+                int slot = store(live[i]);
+                slotById.put(live[i].id, slot);
+                index(live[i], slot);
+            }
+        }
+    }
+
+    /**
+     * Lower-case words of a text; a camelCase token yields the whole token and each hump
+     */
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String token : NON_ALPHANUMERIC.split(text)) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            words.add(token.toLowerCase(Locale.ROOT));
+            String[] humps = HUMP.split(token);
+            if (humps.length > 1) {
+                for (String hump : humps) {
+                    words.add(hump.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return words;
+    }
+
+    private static void addGrams(String text, Set<String> grams) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+    }
+
+    /**
+     * Sorted, append-only list of slots
+     */
+    private static final class Postings {
+
+        int[] slots = new int[4];
+        int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        /**
+         * Keep the first size entries of a sorted array that are also in this list; returns the new size
+         */
+        int retain(int[] candidates, int size) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < size && from < this.size; i++) {
+                int found = Arrays.binarySearch(slots, from, this.size, candidates[i]);
+                if (found >= 0) {
+                    candidates[kept++] = candidates[i];
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+            return kept;
+        }
+    }
+
+    private static final class Document {
+
+        final long id;
+        final ComponentCategory category;
+        final String name;
+        final int nameLength;
+        final List<String> nameWords;
+        final List<String> descriptionWords;
+
+        Document(long id, String name, String description, ComponentCategory category) {
+            this.id = id;
+            this.category = category;
+            this.name = name != null ? name.toLowerCase(Locale.ROOT) : "";
+            this.nameLength = this.name.length();
+            this.nameWords = words(name);
+            this.descriptionWords = words(description);
+        }
+
+        void collectGrams(Set<String> grams) {
+            for (String word : nameWords) {
+                addGrams("  " + word + " ", grams);
+            }
+            for (String word : descriptionWords) {
+                addGrams("  " + word + " ", grams);
+            }
+        }
+
+        /**
+         * Sum of the per-term scores; 0 if any term does not match
+         */
+        int score(List<Term> terms) {
+            int total = 0;
+            for (Term term : terms) {
+                int score = term.score(this);
+                if (score == 0) {
+                    return 0;
+                }
+                total += score;
+            }
+            return total;
+        }
+    }
+
+    private static final class Term {
+
+        final String text;
+        final boolean prefix;
+        final Set<String> grams = new LinkedHashSet<>();
+
+        private Term(String text, boolean prefix) {
+            this.text = text;
+            this.prefix = prefix;
+            addGrams(prefix ? "  " + text : text, grams);
+        }
+
+        /**
+         * Whitespace-separated terms; a trailing '*' makes a term a prefix query
+         */
+        static List<Term> parse(String query) {
+            List<Term> terms = new ArrayList<>();
+            if (query == null) {
+                return terms;
+            }
+            for (String raw : WHITESPACE.split(query.trim())) {
+                boolean prefix = raw.endsWith("*");
+                String[] parts = NON_ALPHANUMERIC.split(prefix ? raw.substring(0, raw.length() - 1) : raw);
+                // Punctuation splits a raw term into several words; only the last keeps the '*'
+                for (int i = 0; i < parts.length; i++) {
+                    if (!parts[i].isEmpty()) {
+                        terms.add(new Term(parts[i].toLowerCase(Locale.ROOT), prefix && i == parts.length - 1));
+                    }
+                }
+            }
+            return terms;
+        }
+
+        int score(Document document) {
+            if (document.name.equals(text)) {
+                return 100;
+            }
+            if (document.name.startsWith(text)) {
+                return 60;
+            }
+            int best = 0;
+            for (String word : document.nameWords) {
+                if (word.equals(text)) {
+                    best = Math.max(best, 40);
+                } else if (word.startsWith(text)) {
+                    best = Math.max(best, 30);
+                } else if (!prefix && word.contains(text)) {
+                    best = Math.max(best, 15);
+                }
+            }
+            if (best > 0) {
+                return best;
+            }
+            for (String word : document.descriptionWords) {
+                if (word.equals(text)) {
+                    best = Math.max(best, 10);
+                } else if (word.startsWith(text)) {
+                    best = Math.max(best, 6);
+                } else if (!prefix && word.contains(text)) {
+                    best = Math.max(best, 3);
+                }
+            }
+            return best;
+        }
+    }
+
+    private record Hit(Document document, int score) {
+    }
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt((Hit hit) -> -hit.score)
+        .thenComparingInt(hit -> hit.document.nameLength)
+        .thenComparingLong(hit -> hit.document.id);
+}
@@ -0,0 +1,102 @@
+package com.automobile.workflow.engine;
+
+import com.automobile.workflow.model.Workflow;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ValidationCache - Bounded LRU cache of validation outcomes
+ *
+ * Keyed by the rule-set version plus a hash of every workflow field that
+ * validation reads, so an edited workflow or a changed rule table simply
+ * misses. Entries hold the immutable error list of the cached run.
+ */
+final class ValidationCache {
+
+    private final int capacity;
+    private final Map<String, List<String>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    ValidationCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(Math.min(capacity, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+                return size() > ValidationCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Cached errors for a key, or null on a miss
+     */
+    List<String> get(String key) {
+        List<String> errors;
+        synchronized (entries) {
+            errors = entries.get(key);
+        }
+        (errors != null ? hits : misses).increment();
+        return errors;
+    }
+
+    void put(String key, List<String> errors) {
+        if (capacity <= 0) {
+            return;
+        }
+        List<String> copy = List.copyOf(errors);
+        synchronized (entries) {
+            entries.put(key, copy);
+        }
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Canonical key: rule-set version and a hash of the validation-relevant fields.
+     * Every value is length-prefixed so adjacent fields cannot run together.
+     */
+    static String key(Workflow workflow, String ruleSetVersion) {
+        StringBuilder canonical = new StringBuilder(256);
+        append(canonical, workflow.getName());
+        append(canonical, workflow.getComponentName());
+        append(canonical, workflow.getComponentType());
+        append(canonical, workflow.getDescription());
+        append(canonical, workflow.getCategory() != null ? workflow.getCategory().name() : null);
+        append(canonical, workflow.getTemplateName());
+        append(canonical, workflow.getCreatedBy());
+        append(canonical, workflow.getDependencies());
+        append(canonical, workflow.getInputs());
+        append(canonical, workflow.getOutputs());
+        append(canonical, workflow.getValidationRules());
+        return ruleSetVersion + ':' + CodeBlobService.hash(canonical.toString());
+    }
+
+    private static void append(StringBuilder canonical, List<String> values) {
+        if (values == null) {
+            canonical.append("-1;");
+            return;
+        }
+        canonical.append(values.size()).append(';');
+        for (String value : values) {
+            append(canonical, value);
+        }
+    }
+
+    private static void append(StringBuilder canonical, String value) {
+        if (value == null) {
+            canonical.append("-1:");
+            return;
+        }
+        canonical.append(value.length()).append(':').append(value);
+    }
+}
@@ -2,10 +2,14 @@ package com.automobile.workflow.engine;
 
 import com.automobile.workflow.model.Workflow;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 /**
  * ValidationService - Validates workflows and components
@@ -20,12 +24,102 @@ import java.util.List;
 @Slf4j
 public class ValidationService {
 
+    /**
+     * Upper bound on distinct rule texts kept compiled; beyond it rules are compiled per use
+     */
+    private static final int MAX_COMPILED_RULES = 10_000;
+
+    private static final Pattern PASCAL_CASE = Pattern.compile("^[A-Z][a-zA-Z0-9]*$");
+
+    private final Map<String, CompiledRule> compiledRules = new ConcurrentHashMap<>();
+
+    private final CategoryRuleTable categoryRules = CategoryRuleTable.defaults();
+
+    private final ValidationCache validationCache;
+
+    private final ComponentIndex componentIndex;
+
+    public ValidationService(@Value("${app.validation.cache-size:1000}") int cacheSize,
+                             ComponentIndex componentIndex) {
+        this.validationCache = new ValidationCache(cacheSize);
+        this.componentIndex = componentIndex;
+    }
+
     /**
      * Validate a workflow before execution
      */
     public void validateWorkflow(Workflow workflow) {
         log.info("Validating workflow: {}", workflow.getName());
         
+        List<String> errors = collectErrors(workflow);
+
+        if (!errors.isEmpty()) {
+            throw new ValidationException("Workflow validation failed: " + String.join(", ", errors));
+        }
+
+        log.info("Workflow validation passed: {}", workflow.getName());
+    }
+
+    /**
+     * Validate many workflows in parallel, reporting all errors per workflow
+     */
+    public List<WorkflowValidationResult> validateAll(List<Workflow> workflows) {
+        long start = System.currentTimeMillis();
+        List<WorkflowValidationResult> results = workflows.parallelStream()
+            .map(this::validate)
+            .toList();
+
+        long invalid = results.stream().filter(result -> !result.isValid()).count();
+        log.info("Validated {} workflow(s) in {} ms: {} invalid",
+            results.size(), System.currentTimeMillis() - start, invalid);
+        return results;
+    }
+
+    /**
+     * Validate a workflow without throwing, collecting every error
+     */
+    public WorkflowValidationResult validate(Workflow workflow) {
+        WorkflowValidationResult result = new WorkflowValidationResult();
+        result.setWorkflowId(workflow.getId());
+        result.setName(workflow.getName());
+        result.setComponentName(workflow.getComponentName());
+        try {
+            result.setErrors(collectErrors(workflow));
+        } catch (RuntimeException e) {
+            result.setErrors(new ArrayList<>(List.of("Unable to validate workflow: " + e.getMessage())));
+        }
+        result.setValid(result.getErrors().isEmpty());
+        return result;
+    }
+
+    /**
+     * Run every validation check and return the errors found.
+     * Outcomes are cached per workflow content and rule-set version.
+     */
+    public List<String> collectErrors(Workflow workflow) {
+        String cacheKey = ValidationCache.key(workflow, categoryRules.getVersion());
+        List<String> cached = validationCache.get(cacheKey);
+        if (cached != null) {
+            log.debug("Validation cache hit for workflow: {}", workflow.getName());
+            return new ArrayList<>(cached);
+        }
+
+        List<String> errors = runChecks(workflow);
+        validationCache.put(cacheKey, errors);
+        return errors;
+    }
+
+    /**
+     * Validation cache hit and miss counts
+     */
+    public Map<String, Long> getCacheStatistics() {
+        return Map.of(
+            "hits", validationCache.getHits(),
+            "misses", validationCache.getMisses()
+        );
+    }
+
+    private List<String> runChecks(Workflow workflow) {
         List<String> errors = new ArrayList<>();
 
         // Validate component name
@@ -42,15 +136,11 @@ public class ValidationService {
         // Validate validation rules
         if (workflow.getValidationRules() != null) {
             for (String rule : workflow.getValidationRules()) {
-                validateRule(rule, errors);
+                validateRule(workflow, rule, errors);
             }
         }
 
-        if (!errors.isEmpty()) {
-            throw new ValidationException("Workflow validation failed: " + String.join(", ", errors));
-        }
-
-        log.info("Workflow validation passed: {}", workflow.getName());
+        return errors;
     }
 
     /**
@@ -61,73 +151,14 @@ public class ValidationService {
             return false;
         }
         // PascalCase validation
-        return name.matches("^[A-Z][a-zA-Z0-9]*$");
+        return PASCAL_CASE.matcher(name).matches();
     }
 
     /**
      * Validate category-specific rules
      */
     private void validateCategoryRules(Workflow workflow, List<String> errors) {
-        switch (workflow.getCategory()) {
-            case SAFETY_SYSTEM:
-                validateSafetySystemRules(workflow, errors);
-                break;
-            case ENGINE_MANAGEMENT:
-                validateEngineManagementRules(workflow, errors);
-                break;
-            case INFOTAINMENT:
-                validateInfotainmentRules(workflow, errors);
-                break;
-            case DIAGNOSTIC:
-                validateDiagnosticRules(workflow, errors);
-                break;
-            default:
-                log.debug("No specific validation rules for category: {}", workflow.getCategory());
-        }
-    }
-
-    /**
-     * Validate safety system specific rules
-     */
-    private void validateSafetySystemRules(Workflow workflow, List<String> errors) {
-        // Safety systems must have specific dependencies
-        List<String> requiredDeps = List.of("SensorModule", "AlertSystem");
-        for (String dep : requiredDeps) {
-            if (!workflow.getDependencies().contains(dep)) {
-                errors.add("Safety system requires dependency: " + dep);
-            }
-        }
-    }
-
-    /**
-     * Validate engine management specific rules
-     */
-    private void validateEngineManagementRules(Workflow workflow, List<String> errors) {
-        // Engine management components must have monitoring capabilities
-        if (!workflow.getComponentName().contains("Monitor") && 
-            !workflow.getComponentName().contains("Controller")) {
-            errors.add("Engine management components should include 'Monitor' or 'Controller' in name");
-        }
-    }
-
-    /**
-     * Validate infotainment specific rules
-     */
-    private void validateInfotainmentRules(Workflow workflow, List<String> errors) {
-        // Infotainment components should have UI dependencies
-        if (!workflow.getDependencies().stream().anyMatch(dep -> dep.contains("UI") || dep.contains("Display"))) {
-            errors.add("Infotainment components should have UI/Display dependencies");
-        }
-    }
-
-    /**
-     * Validate diagnostic specific rules
-     */
-    private void validateDiagnosticRules(Workflow workflow, List<String> errors) {
-        // Diagnostic components must have data logging
-        if (!workflow.getDependencies().contains("DataLogger")) {
-            errors.add("Diagnostic components require DataLogger dependency");
-        }
+        categoryRules.validate(workflow, errors);
     }
 
     /**
@@ -150,30 +181,73 @@ public class ValidationService {
      * Validate dependency name format
      */
     private boolean isValidDependencyName(String dependency) {
-        return dependency != null && dependency.matches("^[A-Z][a-zA-Z0-9]*$");
+        return dependency != null && PASCAL_CASE.matcher(dependency).matches();
     }
 
     /**
-     * Validate a specific validation rule
+     * Validate a specific validation rule and evaluate it against the workflow
      */
-    private void validateRule(String rule, List<String> errors) {
+    private void validateRule(Workflow workflow, String rule, List<String> errors) {
         if (rule == null || rule.trim().isEmpty()) {
             errors.add("Empty validation rule found");
+            return;
+        }
+
+        CompiledRule compiled = compileRule(rule);
+        if (compiled.getError() != null) {
+            errors.add("Invalid validation rule '" + rule + "': " + compiled.getError());
+        } else if (!compiled.test(workflow)) {
+            errors.add("Validation rule failed: " + rule);
         }
     }
 
     /**
-     * Check dependencies are available
+     * Compiled form of a rule, parsed once per distinct rule text
+     */
+    private CompiledRule compileRule(String rule) {
+        CompiledRule compiled = compiledRules.get(rule);
+        if (compiled != null) {
+            return compiled;
+        }
+        if (compiledRules.size() >= MAX_COMPILED_RULES) {
+            return RuleCompiler.compile(rule);
+        }
+        return compiledRules.computeIfAbsent(rule, RuleCompiler::compile);
+    }
+
+    /**
+     * Check dependencies are available as active components
      */
     public void checkDependencies(Workflow workflow) {
         log.info("Checking dependencies for workflow: {}", workflow.getName());
-        
-        for (String dependency : workflow.getDependencies()) {
-            log.debug("Checking dependency: {}", dependency);
-            // In a real implementation, this would check if the dependency exists
-            // For now, we'll just log it
+
+        List<String> missing = new ArrayList<>();
+        List<String> inactive = new ArrayList<>();
+        if (workflow.getDependencies() != null) {
+            for (String dependency : workflow.getDependencies()) {
+                log.debug("Checking dependency: {}", dependency);
+                if (componentIndex.isActive(dependency)) {
+                    continue;
+                }
+                if (componentIndex.exists(dependency)) {
+                    inactive.add(dependency);
+                } else {
+                    missing.add(dependency);
+                }
+            }
         }
-        
+
+        List<String> errors = new ArrayList<>();
+        if (!missing.isEmpty()) {
+            errors.add("Missing dependencies: " + String.join(", ", missing));
+        }
+        if (!inactive.isEmpty()) {
+            errors.add("Inactive dependencies: " + String.join(", ", inactive));
+        }
+        if (!errors.isEmpty()) {
+            throw new ValidationException("Dependency check failed: " + String.join(", ", errors));
+        }
+
         log.info("Dependency check completed for workflow: {}", workflow.getName());
     }
 
@@ -0,0 +1,125 @@
+package com.automobile.workflow.engine;
+
+import com.automobile.workflow.model.Workflow;
+import com.automobile.workflow.model.WorkflowDefinition;
+import com.automobile.workflow.model.WorkflowDefinitionSummary;
+import com.automobile.workflow.repository.WorkflowDefinitionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WorkflowDefinitionStore - Freezes approved workflows into immutable versions and serves them to executions
+ *
+ * Each approval writes the next version of the workflow's definition. Because
+ * a version never changes once written, parsed definitions are cached in a
+ * bounded LRU map without invalidation, and every caller gets its own copy,
+ * so executions neither read the live row nor block edits to it.
+ */
+@Service
+@Slf4j
+public class WorkflowDefinitionStore {
+
+    private final WorkflowDefinitionRepository definitionRepository;
+    private final ObjectMapper objectMapper;
+    private final int capacity;
+    private final Map<Key, JsonNode> definitions;
+
+    private record Key(Long workflowId, int version) {
+    }
+
+    public WorkflowDefinitionStore(WorkflowDefinitionRepository definitionRepository,
+                                   ObjectMapper objectMapper,
+                                   @Value("${app.workflow.definition-cache-size:1000}") int cacheSize) {
+        this.definitionRepository = definitionRepository;
+        this.objectMapper = objectMapper;
+        this.capacity = cacheSize;
+        this.definitions = new LinkedHashMap<>(Math.min(Math.max(cacheSize, 16), 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, JsonNode> eldest) {
+                return size() > WorkflowDefinitionStore.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Freeze the workflow as its next definition version and record that version on it
+     *
+     * Must run in the transaction that approves the workflow, so the version
+     * and the approval commit together.
+     */
+    public int freeze(Workflow workflow) {
+        int version = definitionRepository.findLatestVersion(workflow.getId()) + 1;
+        workflow.setDefinitionVersion(version);
+        JsonNode tree = objectMapper.valueToTree(workflow);
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(tree);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Unable to freeze definition of workflow " + workflow.getId(), e);
+        }
+        definitionRepository.save(WorkflowDefinition.builder()
+            .workflowId(workflow.getId())
+            .version(version)
+            .definition(json)
+            .approvedBy(workflow.getApprovedBy())
+            .createdAt(LocalDateTime.now())
+            .build());
+        AfterCommit.run(() -> cache(new Key(workflow.getId(), version), tree));
+        log.info("Workflow {} frozen as definition version {}", workflow.getId(), version);
+        return version;
+    }
+
+    /**
+     * A private copy of one definition version, from memory when cached
+     */
+    public Workflow load(Long workflowId, int version) {
+        Key key = new Key(workflowId, version);
+        JsonNode tree;
+        synchronized (definitions) {
+            tree = definitions.get(key);
+        }
+        if (tree == null) {
+            WorkflowDefinition definition = definitionRepository.findByWorkflowIdAndVersion(workflowId, version)
+                .orElseThrow(() -> new RuntimeException(
+                    "Definition version " + version + " not found for workflow " + workflowId));
+            try {
+                tree = objectMapper.readTree(definition.getDefinition());
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Unreadable definition version " + version + " of workflow "
+                    + workflowId, e);
+            }
+            cache(key, tree);
+        }
+        try {
+            return objectMapper.treeToValue(tree, Workflow.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Unreadable definition version " + version + " of workflow "
+                + workflowId, e);
+        }
+    }
+
+    /**
+     * Every definition version of a workflow, newest first
+     */
+    public List<WorkflowDefinitionSummary> listVersions(Long workflowId) {
+        return definitionRepository.findSummariesByWorkflowId(workflowId);
+    }
+
+    private void cache(Key key, JsonNode tree) {
+        if (capacity <= 0) {
+            return;
+        }
+        synchronized (definitions) {
+            definitions.put(key, tree);
+        }
+    }
+}
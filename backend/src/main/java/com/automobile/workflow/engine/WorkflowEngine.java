@@ -7,9 +7,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * WorkflowEngine - Core engine for executing workflows
@@ -19,6 +22,7 @@ import java.util.List;
  * - Validation and approval processes
  * - Error handling and rollback
  * - State management
+ * - Freezing a versioned definition at approval, which executions then run
  */
 @Service
 @RequiredArgsConstructor
@@ -28,57 +32,59 @@ public class WorkflowEngine {
     private final WorkflowRepository workflowRepository;
     private final ValidationService validationService;
     private final ComponentGeneratorService componentGeneratorService;
+    private final WorkflowStatusCounters statusCounters;
+    private final WorkflowDefinitionStore definitionStore;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Execute a workflow
      * 
+     * Runs the definition version frozen at approval, not the live workflow:
+     * the live row is only touched in two short transactions, to mark the
+     * execution started and to record its outcome, so edits made meanwhile
+     * neither block nor change the running execution. The steps call into
+     * transactional services, so they do not depend on open-in-view and run
+     * the same outside a web request.
+     * 
      * @param workflowId The ID of the workflow to execute
      * @return Execution result
      */
-    @Transactional
     public WorkflowExecutionResult executeWorkflow(Long workflowId) {
         log.info("Starting workflow execution for workflow ID: {}", workflowId);
-        
-        Workflow workflow = workflowRepository.findById(workflowId)
-            .orElseThrow(() -> new RuntimeException("Workflow not found: " + workflowId));
 
-        // Check if workflow is approved
-        if (workflow.getStatus() != Workflow.WorkflowStatus.APPROVED) {
-            throw new RuntimeException("Workflow must be approved before execution");
-        }
-
-        // Update workflow status
-        workflow.setStatus(Workflow.WorkflowStatus.IN_PROGRESS);
-        workflowRepository.save(workflow);
+        int version = transactionTemplate.execute(status -> startExecution(workflowId));
 
         WorkflowExecutionResult result = new WorkflowExecutionResult();
         result.setWorkflowId(workflowId);
+        result.setDefinitionVersion(version);
         result.setStartTime(LocalDateTime.now());
 
+        List<WorkflowStep> steps = List.of();
         try {
-            // Execute workflow steps in order
-            List<WorkflowStep> steps = workflow.getSteps();
+            // A private copy, so step state set below never leaks into the cached definition
+            Workflow workflow = definitionStore.load(workflowId, version);
+            steps = workflow.getSteps();
             steps.sort((s1, s2) -> s1.getStepOrder().compareTo(s2.getStepOrder()));
 
+            // Execute workflow steps in order
             for (WorkflowStep step : steps) {
                 executeStep(workflow, step);
             }
 
             // Mark workflow as completed
-            workflow.setStatus(Workflow.WorkflowStatus.COMPLETED);
-            workflowRepository.save(workflow);
+            finishExecution(workflowId, Workflow.WorkflowStatus.COMPLETED, steps);
 
             result.setSuccess(true);
             result.setEndTime(LocalDateTime.now());
             result.setMessage("Workflow executed successfully");
 
-            log.info("Workflow execution completed successfully for workflow ID: {}", workflowId);
+            log.info("Workflow execution completed successfully for workflow ID: {} (definition version {})",
+                workflowId, version);
 
         } catch (Exception e) {
             log.error("Workflow execution failed for workflow ID: {}", workflowId, e);
-            
-            workflow.setStatus(Workflow.WorkflowStatus.FAILED);
-            workflowRepository.save(workflow);
+
+            finishExecution(workflowId, Workflow.WorkflowStatus.FAILED, steps);
 
             result.setSuccess(false);
             result.setEndTime(LocalDateTime.now());
@@ -89,6 +95,72 @@ public class WorkflowEngine {
         return result;
     }
 
+    /**
+     * Mark an approved workflow in progress; returns the definition version to execute
+     */
+    private int startExecution(Long workflowId) {
+        Workflow workflow = workflowRepository.findById(workflowId)
+            .orElseThrow(() -> new RuntimeException("Workflow not found: " + workflowId));
+
+        // Check if workflow is approved
+        if (workflow.getStatus() != Workflow.WorkflowStatus.APPROVED) {
+            throw new RuntimeException("Workflow must be approved before execution");
+        }
+
+        // Approved before definitions were versioned
+        if (workflow.getDefinitionVersion() == null) {
+            definitionStore.freeze(workflow);
+        }
+
+        // Update workflow status
+        workflow.setStatus(Workflow.WorkflowStatus.IN_PROGRESS);
+        workflowRepository.save(workflow);
+        statusCounters.recordTransition(Workflow.WorkflowStatus.APPROVED, Workflow.WorkflowStatus.IN_PROGRESS);
+        return workflow.getDefinitionVersion();
+    }
+
+    /**
+     * Record the outcome on the live workflow and on its steps that still exist, unless the workflow
+     * was rejected, edited or removed while the steps ran
+     */
+    private void finishExecution(Long workflowId, Workflow.WorkflowStatus outcome, List<WorkflowStep> executed) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Conditional, so a status change committed during execution is never overwritten
+            int claimed = workflowRepository.transitionStatus(workflowId, Workflow.WorkflowStatus.IN_PROGRESS,
+                outcome, LocalDateTime.now());
+            if (claimed == 0) {
+                Workflow.WorkflowStatus current = workflowRepository.findById(workflowId)
+                    .map(Workflow::getStatus).orElse(null);
+                if (current == null) {
+                    log.warn("Workflow {} was removed during execution, outcome {} not recorded", workflowId, outcome);
+                } else {
+                    log.warn("Workflow {} moved to {} during execution, outcome {} not recorded",
+                        workflowId, current, outcome);
+                }
+                return;
+            }
+            Workflow workflow = workflowRepository.findById(workflowId)
+                .orElseThrow(() -> new RuntimeException("Workflow not found: " + workflowId));
+
+            Map<Long, WorkflowStep> outcomes = new HashMap<>();
+            for (WorkflowStep step : executed) {
+                outcomes.put(step.getId(), step);
+            }
+            for (WorkflowStep step : workflow.getSteps()) {
+                WorkflowStep run = outcomes.get(step.getId());
+                if (run != null) {
+                    step.setStatus(run.getStatus());
+                    step.setExecutedAt(run.getExecutedAt());
+                    step.setResult(run.getResult());
+                    step.setErrorMessage(run.getErrorMessage());
+                }
+            }
+
+            workflowRepository.save(workflow);
+            statusCounters.recordTransition(Workflow.WorkflowStatus.IN_PROGRESS, outcome);
+        });
+    }
+
     /**
      * Execute a single workflow step
      */
@@ -186,9 +258,12 @@ public class WorkflowEngine {
         workflow.setStatus(Workflow.WorkflowStatus.APPROVED);
         workflow.setApprovedBy(approvedBy);
         workflow.setApprovedAt(LocalDateTime.now());
+        definitionStore.freeze(workflow);
         workflowRepository.save(workflow);
+        statusCounters.recordTransition(Workflow.WorkflowStatus.PENDING_APPROVAL, Workflow.WorkflowStatus.APPROVED);
 
-        log.info("Workflow approved: {} by {}", workflowId, approvedBy);
+        log.info("Workflow approved: {} by {} as definition version {}",
+            workflowId, approvedBy, workflow.getDefinitionVersion());
     }
 
     /**
@@ -199,8 +274,10 @@ public class WorkflowEngine {
         Workflow workflow = workflowRepository.findById(workflowId)
             .orElseThrow(() -> new RuntimeException("Workflow not found: " + workflowId));
 
+        Workflow.WorkflowStatus previous = workflow.getStatus();
         workflow.setStatus(Workflow.WorkflowStatus.REJECTED);
         workflowRepository.save(workflow);
+        statusCounters.recordTransition(previous, Workflow.WorkflowStatus.REJECTED);
 
         log.info("Workflow rejected: {} by {} - Reason: {}", workflowId, rejectedBy, reason);
     }
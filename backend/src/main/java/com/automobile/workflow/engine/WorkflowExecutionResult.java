@@ -13,6 +13,7 @@ import java.time.LocalDateTime;
 public class WorkflowExecutionResult {
     
     private Long workflowId;
+    private Integer definitionVersion;
     private boolean success;
     private String message;
     private String error;
@@ -0,0 +1,23 @@
+package com.automobile.workflow.engine;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * WorkflowImportResult - Outcome of a streaming workflow import
+ *
+ * Reports how many definitions were read, imported and rejected. Only the
+ * first errors are listed so the result stays small for large imports;
+ * rejected has the full number.
+ */
+@Data
+public class WorkflowImportResult {
+
+    private long read;
+    private long imported;
+    private long rejected;
+    private List<String> errors = new ArrayList<>();
+    private long durationMillis;
+}
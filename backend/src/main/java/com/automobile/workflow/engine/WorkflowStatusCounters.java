@@ -0,0 +1,136 @@
+package com.automobile.workflow.engine;
+
+import com.automobile.workflow.model.Workflow;
+import com.automobile.workflow.repository.WorkflowRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WorkflowStatusCounters - Number of workflows in each status, kept in memory
+ *
+ * Loaded with one GROUP BY query on first use, then adjusted by every status
+ * transition once its transaction commits, so reading the counts does not
+ * touch the database. The same query runs periodically to correct drift
+ * from changes made outside the services.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkflowStatusCounters {
+
+    private final WorkflowRepository workflowRepository;
+
+    private final Map<Workflow.WorkflowStatus, LongAdder> byStatus = counters();
+    // Rows without a status; only set by reconciliation
+    private final LongAdder withoutStatus = new LongAdder();
+    private volatile boolean loaded;
+
+    /**
+     * Record a status transition; from is null for a new workflow, to is null for a deleted one
+     */
+    public void recordTransition(Workflow.WorkflowStatus from, Workflow.WorkflowStatus to) {
+        if (from == to) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            if (!loaded) {
+                return;
+            }
+            if (from != null) {
+                byStatus.get(from).decrement();
+            }
+            if (to != null) {
+                byStatus.get(to).increment();
+            }
+        });
+    }
+
+    /**
+     * Current count for every status
+     */
+    public Map<Workflow.WorkflowStatus, Long> getCounts() {
+        ensureLoaded();
+        Map<Workflow.WorkflowStatus, Long> counts = new EnumMap<>(Workflow.WorkflowStatus.class);
+        byStatus.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Total number of workflows
+     */
+    public long getTotal() {
+        ensureLoaded();
+        long total = withoutStatus.sum();
+        for (LongAdder count : byStatus.values()) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Reset the counts from the database
+     */
+    @Scheduled(fixedDelayString = "${app.statistics.reconcile-interval-ms:300000}",
+        initialDelayString = "${app.statistics.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (loaded) {
+            load();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                load();
+                loaded = true;
+            }
+        }
+    }
+
+    private synchronized void load() {
+        Map<Workflow.WorkflowStatus, Long> counts = new EnumMap<>(Workflow.WorkflowStatus.class);
+        long unassigned = 0;
+        for (Object[] row : workflowRepository.countGroupedByStatus()) {
+            if (row[0] == null) {
+                unassigned += (Long) row[1];
+            } else {
+                counts.put((Workflow.WorkflowStatus) row[0], (Long) row[1]);
+            }
+        }
+
+        boolean drifted = false;
+        for (Map.Entry<Workflow.WorkflowStatus, LongAdder> entry : byStatus.entrySet()) {
+            long actual = counts.getOrDefault(entry.getKey(), 0L);
+            if (loaded && entry.getValue().sum() != actual) {
+                drifted = true;
+            }
+            set(entry.getValue(), actual);
+        }
+        set(withoutStatus, unassigned);
+        if (drifted) {
+            log.warn("Workflow status counts drifted from the database, reconciled to {}", counts);
+        }
+    }
+
+    private static void set(LongAdder counter, long value) {
+        counter.reset();
+        counter.add(value);
+    }
+
+    private static Map<Workflow.WorkflowStatus, LongAdder> counters() {
+        Map<Workflow.WorkflowStatus, LongAdder> counters = new EnumMap<>(Workflow.WorkflowStatus.class);
+        for (Workflow.WorkflowStatus status : Workflow.WorkflowStatus.values()) {
+            counters.put(status, new LongAdder());
+        }
+        return counters;
+    }
+}
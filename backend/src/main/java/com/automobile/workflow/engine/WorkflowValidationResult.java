@@ -0,0 +1,21 @@
+package com.automobile.workflow.engine;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * WorkflowValidationResult - Validation outcome for a single workflow
+ * 
+ * Carries every validation error found instead of failing on the first.
+ */
+@Data
+public class WorkflowValidationResult {
+
+    private Long workflowId;
+    private String name;
+    private String componentName;
+    private boolean valid;
+    private List<String> errors = new ArrayList<>();
+}
@@ -0,0 +1,68 @@
+package com.automobile.workflow.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * CodeBlob entity holding one generated code artifact
+ * 
+ * Blobs are content-addressed: the primary key is the SHA-256 hash of the
+ * content, so identical artifacts (e.g. stylesheets shared by many
+ * components) are stored once and reference counted. Content is stored
+ * compressed and is only read when a component's code is requested.
+ */
+@Entity
+@Table(name = "code_blobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+public class CodeBlob implements Persistable<String> {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Lob
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(nullable = false)
+    private String content;
+
+    @Column(nullable = false)
+    private Integer size;
+
+    @Column(nullable = false)
+    private Long refCount;
+
+    /**
+     * Hash keys are assigned, so track newness explicitly; this lets new
+     * blobs be inserted (and batched) without a SELECT-before-merge
+     */
+    @Transient
+    @Builder.Default
+    private boolean newBlob = true;
+
+    @Override
+    public String getId() {
+        return hash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newBlob;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        newBlob = false;
+    }
+}
@@ -1,10 +1,15 @@
 package com.automobile.workflow.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -24,10 +29,13 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Component {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "component_seq")
+    @SequenceGenerator(name = "component_seq", sequenceName = "component_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -46,28 +54,59 @@ public class Component {
     @Column(nullable = false)
     private String selector;
 
-    @Column(nullable = false, length = 5000)
-    private String templateCode;
-
-    @Column(length = 5000)
-    private String styleCode;
-
-    @Column(length = 5000)
-    private String testCode;
-
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "template_blob_hash", nullable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private CodeBlob templateBlob;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "style_blob_hash")
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private CodeBlob styleBlob;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "test_blob_hash")
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private CodeBlob testBlob;
+
+    @Column(length = 64)
+    @JsonIgnore
+    private String codeFingerprint;
+
+    @Column(length = 64)
+    @JsonIgnore
+    private String styleFingerprint;
+
+    @Column(length = 64)
+    @JsonIgnore
+    private String testFingerprint;
+
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ElementCollection
-    @CollectionTable(name = "component_dependencies", joinColumns = @JoinColumn(name = "component_id"))
+    @CollectionTable(name = "component_dependencies", joinColumns = @JoinColumn(name = "component_id"),
+        indexes = @Index(name = "idx_component_dependency", columnList = "dependency"))
     @Column(name = "dependency")
+    @Builder.Default
     private List<String> dependencies = new ArrayList<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ElementCollection
     @CollectionTable(name = "component_inputs", joinColumns = @JoinColumn(name = "component_id"))
     @Column(name = "input_property")
+    @Builder.Default
     private List<String> inputs = new ArrayList<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ElementCollection
     @CollectionTable(name = "component_outputs", joinColumns = @JoinColumn(name = "component_id"))
     @Column(name = "output_property")
+    @Builder.Default
     private List<String> outputs = new ArrayList<>();
 
     @Column(nullable = false)
@@ -84,8 +123,36 @@ public class Component {
     private LocalDateTime createdAt;
 
     @Column(nullable = false)
+    @Builder.Default
     private Boolean isActive = true;
 
     @Column(length = 2000)
     private String metadata;
+
+    /**
+     * Generated TypeScript code (resolved from the content-addressed blob)
+     * 
+     * Code is loaded lazily and deliberately left out of JSON so that list and
+     * search responses never pull code payloads; use /code to fetch it.
+     */
+    @JsonIgnore
+    public String getTemplateCode() {
+        return templateBlob != null ? templateBlob.getContent() : null;
+    }
+
+    /**
+     * Generated stylesheet code
+     */
+    @JsonIgnore
+    public String getStyleCode() {
+        return styleBlob != null ? styleBlob.getContent() : null;
+    }
+
+    /**
+     * Generated spec code
+     */
+    @JsonIgnore
+    public String getTestCode() {
+        return testBlob != null ? testBlob.getContent() : null;
+    }
 }
\ No newline at end of file
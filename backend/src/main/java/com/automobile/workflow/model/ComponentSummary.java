@@ -0,0 +1,32 @@
+package com.automobile.workflow.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * ComponentSummary - Scalar projection of a component for list endpoints
+ * 
+ * Selected with a JPQL constructor expression, so listing components never
+ * touches the lazy dependency, input or output collections or code blobs.
+ * Use the component detail endpoint for the full entity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComponentSummary {
+
+    private Long id;
+    private String name;
+    private String description;
+    private Workflow.ComponentCategory category;
+    private String componentType;
+    private String selector;
+    private String version;
+    private String createdBy;
+    private Long workflowId;
+    private LocalDateTime createdAt;
+    private Boolean isActive;
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -26,10 +28,13 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Workflow {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workflow_seq")
+    @SequenceGenerator(name = "workflow_seq", sequenceName = "workflow_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -52,14 +57,33 @@ public class Workflow {
     @Column(nullable = false)
     private String componentType;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ElementCollection
-    @CollectionTable(name = "workflow_dependencies", joinColumns = @JoinColumn(name = "workflow_id"))
+    @CollectionTable(name = "workflow_dependencies", joinColumns = @JoinColumn(name = "workflow_id"),
+        indexes = @Index(name = "idx_workflow_dependency", columnList = "dependency"))
     @Column(name = "dependency")
+    @Builder.Default
     private List<String> dependencies = new ArrayList<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @ElementCollection
+    @CollectionTable(name = "workflow_inputs", joinColumns = @JoinColumn(name = "workflow_id"))
+    @Column(name = "input_property")
+    @Builder.Default
+    private List<String> inputs = new ArrayList<>();
+
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @ElementCollection
+    @CollectionTable(name = "workflow_outputs", joinColumns = @JoinColumn(name = "workflow_id"))
+    @Column(name = "output_property")
+    @Builder.Default
+    private List<String> outputs = new ArrayList<>();
+
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ElementCollection
     @CollectionTable(name = "workflow_validation_rules", joinColumns = @JoinColumn(name = "workflow_id"))
     @Column(name = "rule")
+    @Builder.Default
     private List<String> validationRules = new ArrayList<>();
 
     @Column(nullable = false)
@@ -75,6 +99,8 @@ public class Workflow {
 
     private LocalDateTime approvedAt;
 
+    private Integer definitionVersion;
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -82,7 +108,9 @@ public class Workflow {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "workflow", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
     private List<WorkflowStep> steps = new ArrayList<>();
 
     /**
@@ -0,0 +1,53 @@
+package com.automobile.workflow.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * WorkflowDefinition entity holding one frozen, versioned copy of a workflow
+ * 
+ * A new version is written each time a workflow is approved. The definition
+ * is the workflow and its steps as JSON, exactly as approved; executions run
+ * against it, so later edits to the workflow never change what an approved
+ * or past execution ran. Rows are never updated or deleted, and are kept
+ * when the workflow itself is archived or deleted.
+ */
+@Entity
+@Table(name = "workflow_definitions",
+    uniqueConstraints = @UniqueConstraint(name = "uk_workflow_definitions_version",
+        columnNames = {"workflow_id", "version"}))
+@Immutable
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkflowDefinition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workflow_definition_seq")
+    @SequenceGenerator(name = "workflow_definition_seq", sequenceName = "workflow_definition_seq",
+        allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long workflowId;
+
+    @Column(nullable = false)
+    private Integer version;
+
+    @Lob
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(nullable = false)
+    private String definition;
+
+    private String approvedBy;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
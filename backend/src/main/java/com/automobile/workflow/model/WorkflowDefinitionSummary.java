@@ -0,0 +1,21 @@
+package com.automobile.workflow.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * WorkflowDefinitionSummary - Scalar projection of a definition version, without the definition itself
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkflowDefinitionSummary {
+
+    private Long workflowId;
+    private Integer version;
+    private String approvedBy;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,31 @@
+package com.automobile.workflow.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * WorkflowSummary - Scalar projection of a workflow for list endpoints
+ * 
+ * Selected with a JPQL constructor expression, so listing workflows never
+ * touches the lazy steps, dependency or rule collections. Use the workflow
+ * detail endpoint for the full entity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkflowSummary {
+
+    private Long id;
+    private String name;
+    private String description;
+    private Workflow.WorkflowStatus status;
+    private Workflow.ComponentCategory category;
+    private String componentName;
+    private String componentType;
+    private String createdBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,44 @@
+package com.automobile.workflow.repository;
+
+import com.automobile.workflow.model.CodeBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for CodeBlob entity
+ * 
+ * Reference counts are adjusted with single UPDATE statements so that
+ * concurrent generators never lose an increment.
+ */
+@Repository
+public interface CodeBlobRepository extends JpaRepository<CodeBlob, String> {
+
+    /**
+     * Add references to an existing blob; returns 0 if the blob does not exist
+     */
+    @Modifying
+    @Query("UPDATE CodeBlob b SET b.refCount = b.refCount + :delta WHERE b.hash = :hash")
+    int addRefCount(String hash, long delta);
+
+    /**
+     * Drop a reference from a blob
+     */
+    @Modifying
+    @Query("UPDATE CodeBlob b SET b.refCount = b.refCount - 1 WHERE b.hash = :hash")
+    int decrementRefCount(String hash);
+
+    /**
+     * Delete a blob once nothing references it
+     */
+    @Modifying
+    @Query("DELETE FROM CodeBlob b WHERE b.hash = :hash AND b.refCount <= 0")
+    int deleteIfUnreferenced(String hash);
+
+    /**
+     * Total bytes of distinct stored content
+     */
+    @Query("SELECT COALESCE(SUM(b.size), 0) FROM CodeBlob b")
+    long sumSize();
+}
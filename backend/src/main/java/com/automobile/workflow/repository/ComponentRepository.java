@@ -1,11 +1,14 @@
 package com.automobile.workflow.repository;
 
 import com.automobile.workflow.model.Component;
+import com.automobile.workflow.model.ComponentSummary;
 import com.automobile.workflow.model.Workflow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,46 +20,80 @@ import java.util.Optional;
 @Repository
 public interface ComponentRepository extends JpaRepository<Component, Long> {
 
+    String SUMMARY_SELECT = "SELECT new com.automobile.workflow.model.ComponentSummary("
+        + "c.id, c.name, c.description, c.category, c.componentType, c.selector, c.version, "
+        + "c.createdBy, c.workflowId, c.createdAt, c.isActive) FROM Component c ";
+
     /**
      * Find component by name
      */
     Optional<Component> findByName(String name);
 
     /**
-     * Find components by category
+     * Keyset page of component summaries after the given id
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.id > :afterId ORDER BY c.id")
+    List<ComponentSummary> findSummaries(Long afterId, Pageable pageable);
+
+    /**
+     * Keyset page of component summaries in a category, after the given id
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.category = :category AND c.id > :afterId ORDER BY c.id")
+    List<ComponentSummary> findSummariesByCategory(Workflow.ComponentCategory category, Long afterId,
+                                                   Pageable pageable);
+
+    /**
+     * Keyset page of active component summaries after the given id
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.isActive = true AND c.id > :afterId ORDER BY c.id")
+    List<ComponentSummary> findActiveSummaries(Long afterId, Pageable pageable);
+
+    /**
+     * Keyset page of a workflow's component summaries after the given id
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.workflowId = :workflowId AND c.id > :afterId ORDER BY c.id")
+    List<ComponentSummary> findSummariesByWorkflowId(Long workflowId, Long afterId, Pageable pageable);
+
+    /**
+     * Component summaries with the given ids, in no particular order
      */
-    List<Component> findByCategory(Workflow.ComponentCategory category);
+    @Query(SUMMARY_SELECT + "WHERE c.id IN :ids")
+    List<ComponentSummary> findSummariesByIdIn(Collection<Long> ids);
 
     /**
-     * Find components created by a specific user
+     * (id, name, description, category) of every active component, for the search index
      */
-    List<Component> findByCreatedBy(String createdBy);
+    @Query("SELECT c.id, c.name, c.description, c.category FROM Component c WHERE c.isActive = true")
+    List<Object[]> findSearchEntries();
 
     /**
-     * Find active components
+     * (category, active flag, count) for every combination in use
      */
-    List<Component> findByIsActiveTrue();
+    @Query("SELECT c.category, c.isActive, COUNT(c) FROM Component c GROUP BY c.category, c.isActive")
+    List<Object[]> countGroupedByCategoryAndActive();
 
     /**
-     * Find components by workflow ID
+     * Find components by a set of names
      */
-    List<Component> findByWorkflowId(Long workflowId);
+    List<Component> findByNameIn(Collection<String> names);
 
     /**
-     * Find components by category and active status
+     * Name, active flag and category of every component, for the in-memory component index
      */
-    List<Component> findByCategoryAndIsActive(Workflow.ComponentCategory category, Boolean isActive);
+    @Query("SELECT c.name, c.isActive, c.category FROM Component c")
+    List<Object[]> findIndexEntries();
 
     /**
-     * Search components by name pattern
+     * (component name, dependency) pairs of every active component, for the dependency graph
      */
-    @Query("SELECT c FROM Component c WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) AND c.isActive = true")
-    List<Component> searchByName(String searchTerm);
+    @Query("SELECT c.name, d FROM Component c JOIN c.dependencies d WHERE c.isActive = true")
+    List<Object[]> findActiveDependencyEdges();
 
     /**
-     * Count active components by category
+     * Workflow IDs of the components with the given names
      */
-    long countByCategoryAndIsActive(Workflow.ComponentCategory category, Boolean isActive);
+    @Query("SELECT c.workflowId FROM Component c WHERE c.name IN :names")
+    List<Long> findWorkflowIdsByNameIn(Collection<String> names);
 
     /**
      * Check if component name exists
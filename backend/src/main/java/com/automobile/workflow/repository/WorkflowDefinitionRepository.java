@@ -0,0 +1,29 @@
+package com.automobile.workflow.repository;
+
+import com.automobile.workflow.model.WorkflowDefinition;
+import com.automobile.workflow.model.WorkflowDefinitionSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for WorkflowDefinition entity
+ * 
+ * Definitions are append-only; versions are numbered per workflow from 1.
+ */
+@Repository
+public interface WorkflowDefinitionRepository extends JpaRepository<WorkflowDefinition, Long> {
+
+    Optional<WorkflowDefinition> findByWorkflowIdAndVersion(Long workflowId, Integer version);
+
+    @Query("SELECT COALESCE(MAX(d.version), 0) FROM WorkflowDefinition d WHERE d.workflowId = :workflowId")
+    int findLatestVersion(Long workflowId);
+
+    @Query("SELECT new com.automobile.workflow.model.WorkflowDefinitionSummary("
+        + "d.workflowId, d.version, d.approvedBy, d.createdAt) "
+        + "FROM WorkflowDefinition d WHERE d.workflowId = :workflowId ORDER BY d.version DESC")
+    List<WorkflowDefinitionSummary> findSummariesByWorkflowId(Long workflowId);
+}
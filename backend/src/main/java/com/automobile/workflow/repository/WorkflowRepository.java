@@ -1,12 +1,21 @@
 package com.automobile.workflow.repository;
 
 import com.automobile.workflow.model.Workflow;
+import com.automobile.workflow.model.WorkflowSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Workflow entity
@@ -16,50 +25,106 @@ import java.util.Optional;
 @Repository
 public interface WorkflowRepository extends JpaRepository<Workflow, Long> {
 
+    String SUMMARY_SELECT = "SELECT new com.automobile.workflow.model.WorkflowSummary("
+        + "w.id, w.name, w.description, w.status, w.category, w.componentName, w.componentType, "
+        + "w.createdBy, w.createdAt, w.updatedAt) FROM Workflow w ";
+
     /**
      * Find workflow by name
      */
     Optional<Workflow> findByName(String name);
 
     /**
-     * Find workflows by status
+     * Move a workflow from one status to another; 0 when it is no longer in the expected status
+     */
+    @Modifying
+    @Query("UPDATE Workflow w SET w.status = :to, w.updatedAt = :now WHERE w.id = :id AND w.status = :from")
+    int transitionStatus(Long id, Workflow.WorkflowStatus from, Workflow.WorkflowStatus to, LocalDateTime now);
+
+    /**
+     * Workflow summaries with the given ids, in no particular order
+     */
+    @Query(SUMMARY_SELECT + "WHERE w.id IN :ids")
+    List<WorkflowSummary> findSummariesByIdIn(Collection<Long> ids);
+
+    /**
+     * (id, name, description, category) of every workflow, for the search index
+     */
+    @Query("SELECT w.id, w.name, w.description, w.category FROM Workflow w")
+    List<Object[]> findSearchEntries();
+
+    /**
+     * Keyset page of workflow summaries after the given id
+     */
+    @Query(SUMMARY_SELECT + "WHERE w.id > :afterId ORDER BY w.id")
+    List<WorkflowSummary> findSummaries(Long afterId, Pageable pageable);
+
+    /**
+     * Keyset page of workflow summaries with a status, after the given id
+     */
+    @Query(SUMMARY_SELECT + "WHERE w.status = :status AND w.id > :afterId ORDER BY w.id")
+    List<WorkflowSummary> findSummariesByStatus(Workflow.WorkflowStatus status, Long afterId, Pageable pageable);
+
+    /**
+     * Keyset page of workflow summaries in a category, after the given id
+     */
+    @Query(SUMMARY_SELECT + "WHERE w.category = :category AND w.id > :afterId ORDER BY w.id")
+    List<WorkflowSummary> findSummariesByCategory(Workflow.ComponentCategory category, Long afterId,
+                                                  Pageable pageable);
+
+    /**
+     * First keyset page of pending approval workflow summaries, newest first;
+     * served from the query cache until a workflow is written
      */
-    List<Workflow> findByStatus(Workflow.WorkflowStatus status);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY_SELECT + "WHERE w.status = 'PENDING_APPROVAL' ORDER BY w.createdAt DESC, w.id DESC")
+    List<WorkflowSummary> findPendingApprovalSummaries(Pageable pageable);
 
     /**
-     * Find workflows by category
+     * Keyset page of pending approval workflow summaries created before the given position
      */
-    List<Workflow> findByCategory(Workflow.ComponentCategory category);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY_SELECT + "WHERE w.status = 'PENDING_APPROVAL' "
+        + "AND (w.createdAt < :createdAt OR (w.createdAt = :createdAt AND w.id < :id)) "
+        + "ORDER BY w.createdAt DESC, w.id DESC")
+    List<WorkflowSummary> findPendingApprovalSummariesBefore(LocalDateTime createdAt, Long id, Pageable pageable);
 
     /**
-     * Find workflows created by a specific user
+     * (status, count) for every status in use
      */
-    List<Workflow> findByCreatedBy(String createdBy);
+    @Query("SELECT w.status, COUNT(w) FROM Workflow w GROUP BY w.status")
+    List<Object[]> countGroupedByStatus();
 
     /**
-     * Find workflows by status and category
+     * (id, status) of workflows in the given statuses last modified before the cutoff, lowest id first
      */
-    List<Workflow> findByStatusAndCategory(
-        Workflow.WorkflowStatus status, 
-        Workflow.ComponentCategory category
-    );
+    @Query("SELECT w.id, w.status FROM Workflow w WHERE w.status IN :statuses AND w.updatedAt < :cutoff "
+        + "ORDER BY w.id")
+    List<Object[]> findArchivable(Collection<Workflow.WorkflowStatus> statuses, LocalDateTime cutoff,
+                                  Pageable pageable);
 
     /**
-     * Find pending approval workflows
+     * Which of the given names are already taken
      */
-    @Query("SELECT w FROM Workflow w WHERE w.status = 'PENDING_APPROVAL' ORDER BY w.createdAt DESC")
-    List<Workflow> findPendingApprovalWorkflows();
+    @Query("SELECT w.name FROM Workflow w WHERE w.name IN :names")
+    List<String> findExistingNames(Collection<String> names);
 
     /**
-     * Find active workflows (in progress or pending)
+     * Every workflow in ID order, read with a JDBC fetch size and without touching the second-level cache;
+     * the caller must consume and close the stream inside a transaction
      */
-    @Query("SELECT w FROM Workflow w WHERE w.status IN ('IN_PROGRESS', 'PENDING_APPROVAL') ORDER BY w.updatedAt DESC")
-    List<Workflow> findActiveWorkflows();
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT w FROM Workflow w ORDER BY w.id")
+    Stream<Workflow> streamAll();
 
     /**
-     * Count workflows by status
+     * IDs of workflows that declare any of the given dependencies
      */
-    long countByStatus(Workflow.WorkflowStatus status);
+    @Query("SELECT DISTINCT w.id FROM Workflow w JOIN w.dependencies d WHERE d IN :dependencies")
+    List<Long> findIdsByDependencyIn(Collection<String> dependencies);
 
     /**
      * Check if workflow name exists
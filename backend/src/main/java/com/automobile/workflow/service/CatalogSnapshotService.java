@@ -0,0 +1,198 @@
+package com.automobile.workflow.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * CatalogSnapshotService - Snapshots the whole catalog to a file and restores it at boot
+ *
+ * A snapshot is H2's own compressed SQL script of every table, sequence and
+ * the migration history, written to a temporary file and published with an
+ * atomic move. Restoring runs the script in one pass before the migrations
+ * and before Hibernate starts, so it only happens on an empty database, and
+ * migrations newer than the snapshot are applied on top of it. Indexes and
+ * counters kept in memory load lazily afterwards, as on any start.
+ */
+@Service
+@Slf4j
+public class CatalogSnapshotService implements FlywayMigrationStrategy {
+
+    private static final String PREFIX = "catalog-";
+    private static final String SUFFIX = ".sql.gz";
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    // Only the DataSource: this bean is needed by the migrations, before JPA exists
+    private final DataSource dataSource;
+    private final Path directory;
+    private final boolean restoreOnStartup;
+    private final boolean snapshotOnShutdown;
+    private final int retain;
+
+    /**
+     * A stored snapshot
+     */
+    public record SnapshotInfo(String name, long sizeBytes, LocalDateTime createdAt) {
+    }
+
+    public CatalogSnapshotService(DataSource dataSource,
+                                  @Value("${app.snapshot.directory:snapshots}") String directory,
+                                  @Value("${app.snapshot.restore-on-startup:false}") boolean restoreOnStartup,
+                                  @Value("${app.snapshot.on-shutdown:false}") boolean snapshotOnShutdown,
+                                  @Value("${app.snapshot.retain:5}") int retain) {
+        this.dataSource = dataSource;
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+        this.restoreOnStartup = restoreOnStartup;
+        this.snapshotOnShutdown = snapshotOnShutdown;
+        this.retain = Math.max(1, retain);
+    }
+
+    /**
+     * Restore the latest snapshot into an empty database, then apply pending migrations
+     */
+    @Override
+    public void migrate(Flyway flyway) {
+        if (restoreOnStartup && flyway.info().applied().length == 0) {
+            Path latest = latestSnapshot();
+            if (latest != null) {
+                restore(latest);
+            } else {
+                log.info("No catalog snapshot found in {}, starting empty", directory);
+            }
+        }
+        flyway.migrate();
+    }
+
+    /**
+     * Write a snapshot of the whole catalog and prune the oldest beyond the retention count
+     */
+    public synchronized SnapshotInfo createSnapshot() {
+        long start = System.nanoTime();
+        String name = PREFIX + LocalDateTime.now().format(STAMP) + SUFFIX;
+        Path target = directory.resolve(name);
+        Path staging = directory.resolve(name + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            execute("SCRIPT TO " + literal(staging) + " COMPRESSION GZIP");
+            Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+            prune();
+            SnapshotInfo info = describe(target);
+            log.info("Catalog snapshot {} written ({} bytes) in {} ms",
+                name, info.sizeBytes(), (System.nanoTime() - start) / 1_000_000);
+            return info;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write catalog snapshot " + name, e);
+        } finally {
+            try {
+                Files.deleteIfExists(staging);
+            } catch (IOException e) {
+                log.debug("Unable to remove staging file {}: {}", staging, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stored snapshots, newest first
+     */
+    public List<SnapshotInfo> listSnapshots() {
+        List<SnapshotInfo> snapshots = new ArrayList<>();
+        for (Path path : snapshotFiles()) {
+            snapshots.add(describe(path));
+        }
+        return snapshots;
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void snapshotOnShutdown() {
+        if (snapshotOnShutdown) {
+            createSnapshot();
+        }
+    }
+
+    private void restore(Path snapshot) {
+        long start = System.nanoTime();
+        execute("RUNSCRIPT FROM " + literal(snapshot) + " COMPRESSION GZIP");
+        log.info("Catalog restored from snapshot {} in {} ms",
+            snapshot.getFileName(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void execute(String sql) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            if (!"H2".equals(connection.getMetaData().getDatabaseProductName())) {
+                throw new RuntimeException("Catalog snapshots require an H2 database");
+            }
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new RuntimeException("Catalog snapshot statement failed: " + e.getMessage(), e);
+        }
+    }
+
+    private Path latestSnapshot() {
+        List<Path> files = snapshotFiles();
+        return files.isEmpty() ? null : files.get(0);
+    }
+
+    /**
+     * Snapshot files, newest first; names sort by creation time
+     */
+    private List<Path> snapshotFiles() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(path -> {
+                    String fileName = path.getFileName().toString();
+                    return fileName.startsWith(PREFIX) && fileName.endsWith(SUFFIX);
+                })
+                .sorted(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed())
+                .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to list catalog snapshots in " + directory, e);
+        }
+    }
+
+    private void prune() throws IOException {
+        List<Path> files = snapshotFiles();
+        for (int i = retain; i < files.size(); i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    private static SnapshotInfo describe(Path path) {
+        try {
+            Instant modified = Files.getLastModifiedTime(path).toInstant();
+            return new SnapshotInfo(path.getFileName().toString(), Files.size(path),
+                LocalDateTime.ofInstant(modified, ZoneId.systemDefault()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read catalog snapshot " + path, e);
+        }
+    }
+
+    private static String literal(Path path) {
+        return "'" + path.toString().replace("'", "''") + "'";
+    }
+}
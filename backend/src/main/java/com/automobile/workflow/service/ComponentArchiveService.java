@@ -0,0 +1,360 @@
+package com.automobile.workflow.service;
+
+import com.automobile.workflow.engine.ComponentFileWriter;
+import com.automobile.workflow.engine.ComponentFingerprint;
+import com.automobile.workflow.engine.TemplateService;
+import com.automobile.workflow.model.Component;
+import com.automobile.workflow.model.Workflow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * ComponentArchiveService - Streams generated components as zip or tar archives
+ *
+ * Archives are assembled on the fly while the response is written. Matching
+ * components are read in ID order, one small keyset page at a time, and each
+ * page is dropped from the persistence context once written, so nothing is
+ * buffered beyond a page of components and a single file. Files already
+ * published by {@link ComponentFileWriter} are read from disk - for tar
+ * archives with {@link FileChannel#transferTo} so the bytes never enter the
+ * heap - and stored code is used for anything that has not been written out
+ * yet, or whose files on disk are older than the component.
+ */
+@Service
+@Slf4j
+public class ComponentArchiveService {
+
+    private static final int TAR_BLOCK = 512;
+    // Matches hibernate.default_batch_fetch_size, so a page's code blobs load together
+    private static final int PAGE_SIZE = 50;
+
+    private final EntityManager entityManager;
+    private final ComponentFileWriter componentFileWriter;
+    private final TemplateService templateService;
+    private final TransactionTemplate readTransaction;
+
+    public ComponentArchiveService(EntityManager entityManager,
+                                   ComponentFileWriter componentFileWriter,
+                                   TemplateService templateService,
+                                   PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.componentFileWriter = componentFileWriter;
+        this.templateService = templateService;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Supported archive formats
+     */
+    public enum ArchiveFormat {
+        ZIP("application/zip", ".zip"),
+        TAR("application/x-tar", ".tar");
+
+        private final String contentType;
+        private final String extension;
+
+        ArchiveFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Write the archive of the matching components to the output stream
+     *
+     * Filters are optional and combined with AND; with none, every active
+     * component is included.
+     */
+    public void writeArchive(List<Long> ids, Workflow.ComponentCategory category, Long workflowId,
+                             ArchiveFormat format, OutputStream out) throws IOException {
+        ArchiveSink sink = format == ArchiveFormat.TAR ? new TarSink(out) : new ZipSink(out);
+        try {
+            long files = readTransaction.execute(status -> {
+                // Keep a full scan from flooding the second-level cache
+                entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+                long written = 0;
+                Long afterId = null;
+                List<Component> page;
+                do {
+                    page = nextPage(ids, category, workflowId, afterId);
+                    for (Component component : page) {
+                        written += writeComponent(component, sink);
+                    }
+                    if (!page.isEmpty()) {
+                        afterId = page.get(page.size() - 1).getId();
+                    }
+                    entityManager.clear();
+                } while (page.size() == PAGE_SIZE);
+                return written;
+            });
+            sink.finish();
+            log.info("Streamed {} archive with {} component file(s)", format, files);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * The next page of matching components after the given ID, in ID order
+     */
+    private List<Component> nextPage(List<Long> ids, Workflow.ComponentCategory category, Long workflowId,
+                                     Long afterId) {
+        StringBuilder jpql = new StringBuilder("SELECT c FROM Component c WHERE 1 = 1");
+        if (afterId != null) {
+            jpql.append(" AND c.id > :afterId");
+        }
+        if (ids != null && !ids.isEmpty()) {
+            jpql.append(" AND c.id IN :ids");
+        }
+        if (category != null) {
+            jpql.append(" AND c.category = :category");
+        }
+        if (workflowId != null) {
+            jpql.append(" AND c.workflowId = :workflowId");
+        }
+        if ((ids == null || ids.isEmpty()) && category == null && workflowId == null) {
+            jpql.append(" AND c.isActive = true");
+        }
+        jpql.append(" ORDER BY c.id");
+
+        TypedQuery<Component> query = entityManager.createQuery(jpql.toString(), Component.class)
+            .setMaxResults(PAGE_SIZE);
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+        }
+        if (ids != null && !ids.isEmpty()) {
+            query.setParameter("ids", ids);
+        }
+        if (category != null) {
+            query.setParameter("category", category);
+        }
+        if (workflowId != null) {
+            query.setParameter("workflowId", workflowId);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Write one component's files; stored code is only loaded for files not on disk
+     *
+     * Files on disk are used only while their recorded fingerprint matches the
+     * component's; a component regenerated without writing files is served from
+     * its stored code instead of its stale files.
+     */
+    private int writeComponent(Component component, ArchiveSink sink) {
+        String name = component.getName();
+        Path directory = componentFileWriter.componentDirectory(name);
+        String prefix = directory.getFileName().toString() + "/";
+
+        Map<String, Supplier<String>> stored = new LinkedHashMap<>();
+        stored.put(ComponentFileWriter.fileName(name, ComponentFileWriter.TYPESCRIPT_SUFFIX),
+            component::getTemplateCode);
+        stored.put(ComponentFileWriter.fileName(name, ComponentFileWriter.HTML_SUFFIX),
+            () -> templateService.getHtmlTemplate().render(asWorkflow(component)));
+        stored.put(ComponentFileWriter.fileName(name, ComponentFileWriter.STYLE_SUFFIX),
+            component::getStyleCode);
+        stored.put(ComponentFileWriter.fileName(name, ComponentFileWriter.SPEC_SUFFIX),
+            component::getTestCode);
+
+        boolean current = ComponentFingerprint.of(component).combined()
+            .equals(componentFileWriter.readFingerprint(name));
+        int written = 0;
+        try {
+            for (Map.Entry<String, Supplier<String>> file : stored.entrySet()) {
+                Path onDisk = directory.resolve(file.getKey());
+                if (current && Files.isRegularFile(onDisk)) {
+                    sink.file(prefix + file.getKey(), onDisk);
+                    written++;
+                    continue;
+                }
+                String content = file.getValue().get();
+                if (content != null) {
+                    sink.content(prefix + file.getKey(), content);
+                    written++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return written;
+    }
+
+    /**
+     * The fields the markup template reads, taken from the component it was generated for
+     */
+    private static Workflow asWorkflow(Component component) {
+        return Workflow.builder()
+            .componentName(component.getName())
+            .description(component.getDescription())
+            .category(component.getCategory())
+            .componentType(component.getComponentType())
+            .build();
+    }
+
+    /**
+     * Receives archive entries in order
+     */
+    private interface ArchiveSink {
+
+        void file(String name, Path path) throws IOException;
+
+        void content(String name, String content) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class ZipSink implements ArchiveSink {
+
+        private final ZipOutputStream zip;
+
+        ZipSink(OutputStream out) {
+            this.zip = new ZipOutputStream(out);
+        }
+
+        @Override
+        public void file(String name, Path path) throws IOException {
+            zip.putNextEntry(new ZipEntry(name));
+            Files.copy(path, zip);
+            zip.closeEntry();
+        }
+
+        @Override
+        public void content(String name, String content) throws IOException {
+            zip.putNextEntry(new ZipEntry(name));
+            zip.write(content.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            zip.finish();
+            zip.flush();
+        }
+    }
+
+    private static final class TarSink implements ArchiveSink {
+
+        private final OutputStream out;
+        private final WritableByteChannel target;
+
+        TarSink(OutputStream out) {
+            this.out = out;
+            this.target = Channels.newChannel(out);
+        }
+
+        @Override
+        public void file(String name, Path path) throws IOException {
+            try (FileChannel source = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = source.size();
+                writeFully(target, tarHeader(name, size));
+                long position = 0;
+                while (position < size) {
+                    position += source.transferTo(position, size - position, target);
+                }
+                writeFully(target, tarPadding(size));
+            }
+        }
+
+        @Override
+        public void content(String name, String content) throws IOException {
+            byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+            writeFully(target, tarHeader(name, bytes.length));
+            writeFully(target, ByteBuffer.wrap(bytes));
+            writeFully(target, tarPadding(bytes.length));
+        }
+
+        @Override
+        public void finish() throws IOException {
+            // End-of-archive marker: two zero blocks
+            writeFully(target, ByteBuffer.allocate(TAR_BLOCK * 2));
+            out.flush();
+        }
+    }
+
+    private static void writeFully(WritableByteChannel target, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    private static ByteBuffer tarPadding(long size) {
+        int remainder = (int) (size % TAR_BLOCK);
+        return ByteBuffer.allocate(remainder == 0 ? 0 : TAR_BLOCK - remainder);
+    }
+
+    /**
+     * Build a POSIX ustar header block
+     */
+    private static ByteBuffer tarHeader(String entryName, long size) {
+        byte[] header = new byte[TAR_BLOCK];
+        String prefix = "";
+        String name = entryName;
+        if (name.length() > 100) {
+            int slash = name.lastIndexOf('/');
+            prefix = name.substring(0, slash);
+            name = name.substring(slash + 1);
+        }
+        if (name.length() > 100 || prefix.length() > 155) {
+            throw new IllegalArgumentException("Archive entry name too long: " + entryName);
+        }
+
+        put(header, 0, name, 100);
+        put(header, 100, "0000644", 8);
+        put(header, 108, "0000000", 8);
+        put(header, 116, "0000000", 8);
+        put(header, 124, String.format("%011o", size), 12);
+        put(header, 136, String.format("%011o", System.currentTimeMillis() / 1000), 12);
+        Arrays.fill(header, 148, 156, (byte) ' ');
+        header[156] = '0';
+        put(header, 257, "ustar", 6);
+        put(header, 263, "00", 2);
+        put(header, 345, prefix, 155);
+
+        long checksum = 0;
+        for (byte b : header) {
+            checksum += b & 0xFF;
+        }
+        put(header, 148, String.format("%06o", checksum), 6);
+        header[154] = 0;
+        return ByteBuffer.wrap(header);
+    }
+
+    private static void put(byte[] header, int offset, String value, int length) {
+        byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(bytes, 0, header, offset, Math.min(bytes.length, length));
+    }
+}
@@ -0,0 +1,183 @@
+package com.automobile.workflow.service;
+
+import com.automobile.workflow.engine.ComponentIndex;
+import com.automobile.workflow.model.ComponentSummary;
+import com.automobile.workflow.model.Workflow;
+import com.automobile.workflow.repository.CodeBlobRepository;
+import com.automobile.workflow.repository.ComponentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * ComponentBulkService - Set-based activate, deactivate and delete for many components
+ *
+ * Components are selected by IDs, category and/or workflow ID (combined with
+ * AND) and changed with single UPDATE/DELETE statements instead of loading
+ * and saving each entity. The rows are read once as summaries beforehand so
+ * the component index, dependency graph and search index can be updated
+ * after commit; Hibernate evicts the affected second-level cache regions
+ * for the bulk statements.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ComponentBulkService {
+
+    private static final String[] COLLECTION_TABLES = {
+        "component_dependencies", "component_inputs", "component_outputs"
+    };
+    private static final String[] BLOB_ASSOCIATIONS = {"templateBlob", "styleBlob", "testBlob"};
+
+    private final EntityManager entityManager;
+    private final CodeBlobRepository codeBlobRepository;
+    private final ComponentIndex componentIndex;
+
+    /**
+     * Activate or deactivate every matching component; returns the number whose flag changed
+     */
+    @Transactional
+    public int setActive(List<Long> ids, Workflow.ComponentCategory category, Long workflowId, boolean active) {
+        Filter filter = Filter.of(ids, category, workflowId);
+        String where = filter.jpql() + " AND c.isActive <> :active";
+
+        List<ComponentSummary> changed = filter.bind(entityManager.createQuery(
+            ComponentRepository.SUMMARY_SELECT + "WHERE " + where, ComponentSummary.class))
+            .setParameter("active", active)
+            .getResultList();
+        if (changed.isEmpty()) {
+            return 0;
+        }
+        Map<String, List<String>> dependencies = active ? dependencies(filter, where, active) : Map.of();
+
+        String update = "UPDATE Component c SET c.isActive = :active WHERE " + where;
+        int updated = filter.bind(entityManager.createQuery(update))
+            .setParameter("active", active)
+            .executeUpdate();
+        componentIndex.setActive(changed, dependencies, active);
+        log.info("{} {} component(s) ({})", active ? "Activated" : "Deactivated", updated, filter);
+        return updated;
+    }
+
+    /**
+     * Delete every matching component and release its code blobs; returns the number deleted
+     */
+    @Transactional
+    public int delete(List<Long> ids, Workflow.ComponentCategory category, Long workflowId) {
+        Filter filter = Filter.of(ids, category, workflowId);
+        List<ComponentSummary> deleted = filter.bind(entityManager.createQuery(
+            ComponentRepository.SUMMARY_SELECT + "WHERE " + filter.jpql(), ComponentSummary.class))
+            .getResultList();
+        if (deleted.isEmpty()) {
+            return 0;
+        }
+
+        // References each blob loses, counted before the rows go away
+        Map<String, Long> released = new HashMap<>();
+        for (String association : BLOB_ASSOCIATIONS) {
+            List<Object[]> rows = filter.bind(entityManager.createQuery("SELECT b.hash, COUNT(c) FROM Component c "
+                + "JOIN c." + association + " b WHERE " + filter.jpql() + " GROUP BY b.hash", Object[].class))
+                .getResultList();
+            for (Object[] row : rows) {
+                released.merge((String) row[0], (Long) row[1], Long::sum);
+            }
+        }
+
+        // Element collections are not cascaded by a bulk DELETE
+        for (String table : COLLECTION_TABLES) {
+            Query query = entityManager.createNativeQuery("DELETE FROM " + table
+                + " WHERE component_id IN (SELECT c.id FROM components c WHERE " + filter.sql() + ")");
+            query.unwrap(NativeQuery.class).addSynchronizedQuerySpace(table);
+            filter.bindNative(query).executeUpdate();
+        }
+        int removed = filter.bind(entityManager.createQuery("DELETE FROM Component c WHERE " + filter.jpql()))
+            .executeUpdate();
+
+        for (Map.Entry<String, Long> blob : released.entrySet()) {
+            codeBlobRepository.addRefCount(blob.getKey(), -blob.getValue());
+            codeBlobRepository.deleteIfUnreferenced(blob.getKey());
+        }
+        componentIndex.removeAll(deleted);
+        log.info("Deleted {} component(s) ({}), released {} code blob(s)", removed, filter, released.size());
+        return removed;
+    }
+
+    /**
+     * Dependencies of the matching components, by component name
+     */
+    private Map<String, List<String>> dependencies(Filter filter, String where, boolean active) {
+        List<Object[]> edges = filter.bind(entityManager.createQuery(
+            "SELECT c.name, d FROM Component c JOIN c.dependencies d WHERE " + where, Object[].class))
+            .setParameter("active", active)
+            .getResultList();
+        Map<String, List<String>> dependencies = new HashMap<>();
+        for (Object[] edge : edges) {
+            dependencies.computeIfAbsent((String) edge[0], name -> new ArrayList<>()).add((String) edge[1]);
+        }
+        return dependencies;
+    }
+
+    /**
+     * Selection criteria as JPQL (alias c on Component) and SQL (alias c on components)
+     */
+    private record Filter(String jpql, String sql, Map<String, Object> params, Map<String, Object> nativeParams) {
+
+        static Filter of(List<Long> ids, Workflow.ComponentCategory category, Long workflowId) {
+            List<String> jpql = new ArrayList<>();
+            List<String> sql = new ArrayList<>();
+            Map<String, Object> params = new LinkedHashMap<>();
+            Map<String, Object> nativeParams = new LinkedHashMap<>();
+            if (ids != null && !ids.isEmpty()) {
+                jpql.add("c.id IN :ids");
+                sql.add("c.id IN (:ids)");
+                params.put("ids", ids);
+                nativeParams.put("ids", ids);
+            }
+            if (category != null) {
+                jpql.add("c.category = :category");
+                sql.add("c.category = :category");
+                params.put("category", category);
+                nativeParams.put("category", category.name());
+            }
+            if (workflowId != null) {
+                jpql.add("c.workflowId = :workflowId");
+                sql.add("c.workflow_id = :workflowId");
+                params.put("workflowId", workflowId);
+                nativeParams.put("workflowId", workflowId);
+            }
+            if (params.isEmpty()) {
+                throw new RuntimeException("At least one of ids, category or workflowId is required");
+            }
+            return new Filter(String.join(" AND ", jpql), String.join(" AND ", sql), params, nativeParams);
+        }
+
+        <Q extends Query> Q bind(Q query) {
+            params.forEach(query::setParameter);
+            return query;
+        }
+
+        Query bindNative(Query query) {
+            nativeParams.forEach(query::setParameter);
+            return query;
+        }
+
+        @Override
+        public String toString() {
+            return params.entrySet().stream()
+                .map(entry -> entry.getKey().equals("ids")
+                    ? ((List<?>) entry.getValue()).size() + " id(s)" : entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining(", "));
+        }
+    }
+}
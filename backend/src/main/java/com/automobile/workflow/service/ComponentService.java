@@ -1,16 +1,29 @@
 package com.automobile.workflow.service;
 
+import com.automobile.workflow.engine.BulkGenerationResult;
+import com.automobile.workflow.engine.CodeBlobService;
+import com.automobile.workflow.engine.ComponentGeneratorService;
+import com.automobile.workflow.engine.ComponentIndex;
+import com.automobile.workflow.engine.EntityCacheMetrics;
+import com.automobile.workflow.engine.SearchIndex;
+import com.automobile.workflow.model.CodeBlob;
 import com.automobile.workflow.model.Component;
+import com.automobile.workflow.model.ComponentSummary;
 import com.automobile.workflow.model.Workflow;
+import com.automobile.workflow.repository.CodeBlobRepository;
 import com.automobile.workflow.repository.ComponentRepository;
+import com.automobile.workflow.repository.WorkflowRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * ComponentService - Business logic for component management
@@ -21,12 +34,23 @@ import java.util.Map;
 public class ComponentService {
 
     private final ComponentRepository componentRepository;
+    private final WorkflowRepository workflowRepository;
+    private final ComponentGeneratorService componentGeneratorService;
+    private final CodeBlobRepository codeBlobRepository;
+    private final CodeBlobService codeBlobService;
+    private final ComponentIndex componentIndex;
+    private final SearchIndex searchIndex;
+    private final EntityCacheMetrics entityCacheMetrics;
+    private final WorkflowArchiveService workflowArchiveService;
 
     /**
-     * Get all components
+     * Get a page of components
      */
-    public List<Component> getAllComponents() {
-        return componentRepository.findAll();
+    public CursorPage<ComponentSummary> getAllComponents(String cursor, Integer limit) {
+        int size = PageCursor.limit(limit);
+        List<ComponentSummary> rows = componentRepository.findSummaries(
+            PageCursor.decodeId(cursor), PageCursor.probe(size));
+        return CursorPage.of(rows, size, component -> PageCursor.encodeId(component.getId()));
     }
 
     /**
@@ -38,31 +62,74 @@ public class ComponentService {
     }
 
     /**
-     * Get components by category
+     * Get a component with its collections loaded, for the detail view
+     *
+     * The component and its collections come from the second-level cache when present.
      */
-    public List<Component> getComponentsByCategory(Workflow.ComponentCategory category) {
-        return componentRepository.findByCategory(category);
+    @Transactional(readOnly = true)
+    public Component getComponentDetails(Long id) {
+        Component component = getComponentById(id);
+        Hibernate.initialize(component.getDependencies());
+        Hibernate.initialize(component.getInputs());
+        Hibernate.initialize(component.getOutputs());
+        return component;
+    }
+
+    /**
+     * Get generated code for a component
+     * 
+     * The only read path that loads code payloads; runs in a transaction so
+     * the lazily referenced blobs can be fetched.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, String> getComponentCode(Long id) {
+        Component component = getComponentById(id);
+        return Map.of(
+            "templateCode", component.getTemplateCode(),
+            "styleCode", component.getStyleCode() != null ? component.getStyleCode() : "",
+            "testCode", component.getTestCode() != null ? component.getTestCode() : ""
+        );
+    }
+
+    /**
+     * Get a page of components by category
+     */
+    public CursorPage<ComponentSummary> getComponentsByCategory(Workflow.ComponentCategory category,
+                                                                String cursor, Integer limit) {
+        int size = PageCursor.limit(limit);
+        List<ComponentSummary> rows = componentRepository.findSummariesByCategory(
+            category, PageCursor.decodeId(cursor), PageCursor.probe(size));
+        return CursorPage.of(rows, size, component -> PageCursor.encodeId(component.getId()));
     }
 
     /**
-     * Search components by name
+     * Search active components by name and description, best match first, one page at a time
      */
-    public List<Component> searchComponents(String query) {
-        return componentRepository.searchByName(query);
+    public CursorPage<ComponentSummary> searchComponents(String query, Workflow.ComponentCategory category,
+                                                         String cursor, Integer limit) {
+        List<Long> ranked = searchIndex.searchComponents(query, category);
+        return CursorPage.ofRanked(ranked, cursor, limit,
+            componentRepository::findSummariesByIdIn, ComponentSummary::getId);
     }
 
     /**
-     * Get active components
+     * Get a page of active components
      */
-    public List<Component> getActiveComponents() {
-        return componentRepository.findByIsActiveTrue();
+    public CursorPage<ComponentSummary> getActiveComponents(String cursor, Integer limit) {
+        int size = PageCursor.limit(limit);
+        List<ComponentSummary> rows = componentRepository.findActiveSummaries(
+            PageCursor.decodeId(cursor), PageCursor.probe(size));
+        return CursorPage.of(rows, size, component -> PageCursor.encodeId(component.getId()));
     }
 
     /**
-     * Get components by workflow ID
+     * Get a page of a workflow's components
      */
-    public List<Component> getComponentsByWorkflowId(Long workflowId) {
-        return componentRepository.findByWorkflowId(workflowId);
+    public CursorPage<ComponentSummary> getComponentsByWorkflowId(Long workflowId, String cursor, Integer limit) {
+        int size = PageCursor.limit(limit);
+        List<ComponentSummary> rows = componentRepository.findSummariesByWorkflowId(
+            workflowId, PageCursor.decodeId(cursor), PageCursor.probe(size));
+        return CursorPage.of(rows, size, component -> PageCursor.encodeId(component.getId()));
     }
 
     /**
@@ -72,6 +139,13 @@ public class ComponentService {
     public void deleteComponent(Long id) {
         Component component = getComponentById(id);
         componentRepository.delete(component);
+        componentRepository.flush();
+        componentIndex.remove(component);
+
+        // Drop this component's references to its shared code blobs
+        codeBlobService.release(component.getTemplateBlob());
+        codeBlobService.release(component.getStyleBlob());
+        codeBlobService.release(component.getTestBlob());
         log.info("Component deleted: {}", id);
     }
 
@@ -82,7 +156,9 @@ public class ComponentService {
     public Component deactivateComponent(Long id) {
         Component component = getComponentById(id);
         component.setIsActive(false);
-        return componentRepository.save(component);
+        Component saved = componentRepository.save(component);
+        componentIndex.put(saved);
+        return saved;
     }
 
     /**
@@ -92,25 +168,65 @@ public class ComponentService {
     public Component activateComponent(Long id) {
         Component component = getComponentById(id);
         component.setIsActive(true);
-        return componentRepository.save(component);
+        Component saved = componentRepository.save(component);
+        componentIndex.put(saved);
+        return saved;
+    }
+
+    /**
+     * Generate components for many workflows in one call
+     */
+    @Transactional
+    public BulkGenerationResult generateComponents(List<Long> workflowIds, boolean writeFiles) {
+        return generateComponents(workflowIds, writeFiles, false);
+    }
+
+    /**
+     * Generate components for many workflows; with force, unchanged components are re-rendered too
+     */
+    @Transactional
+    public BulkGenerationResult generateComponents(List<Long> workflowIds, boolean writeFiles, boolean force) {
+        log.info("Bulk generating components for {} workflow(s)", workflowIds.size());
+        List<Workflow> workflows = workflowRepository.findAllById(workflowIds);
+
+        // Initialize lazy collections here; rendering happens on other threads
+        Set<Long> found = new HashSet<>();
+        for (Workflow workflow : workflows) {
+            Hibernate.initialize(workflow.getDependencies());
+            Hibernate.initialize(workflow.getInputs());
+            Hibernate.initialize(workflow.getOutputs());
+            found.add(workflow.getId());
+        }
+
+        BulkGenerationResult result = componentGeneratorService.generateComponents(workflows, writeFiles, force);
+        List<Long> notFound = workflowIds.stream().filter(id -> !found.contains(id)).distinct().toList();
+        List<Long> archived = workflowArchiveService.findArchivedIds(notFound);
+        for (Long id : notFound) {
+            if (archived.contains(id)) {
+                result.getArchivedWorkflowIds().add(id);
+            } else {
+                result.getMissingWorkflowIds().add(id);
+            }
+        }
+        log.info("Bulk generation finished: {} generated, {} regenerated, {} skipped in {} ms",
+            result.getGenerated(), result.getRegenerated(), result.getSkipped().size(), result.getDurationMillis());
+        return result;
     }
 
     /**
      * Get component statistics
      */
     public Map<String, Object> getComponentStatistics() {
-        Map<String, Object> stats = new HashMap<>();
-        
-        stats.put("total", componentRepository.count());
-        stats.put("active", componentRepository.findByIsActiveTrue().size());
-        
-        // Count by category
-        Map<String, Long> byCategory = new HashMap<>();
-        for (Workflow.ComponentCategory category : Workflow.ComponentCategory.values()) {
-            long count = componentRepository.countByCategoryAndIsActive(category, true);
-            byCategory.put(category.toString(), count);
-        }
-        stats.put("byCategory", byCategory);
+        // Total, active and active-by-category counts are kept by the component index
+        Map<String, Object> stats = new HashMap<>(componentIndex.getStatistics());
+
+        // Deduplicated code storage
+        stats.put("distinctCodeBlobs", codeBlobRepository.count());
+        stats.put("storedCodeChars", codeBlobRepository.sumSize());
+
+        // Second-level cache regions of components and code blobs
+        stats.put("entityCache", entityCacheMetrics.getRegionStatistics(
+            Component.class.getName(), CodeBlob.class.getName()));
 
         return stats;
     }
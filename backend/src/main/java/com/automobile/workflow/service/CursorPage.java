@@ -0,0 +1,71 @@
+package com.automobile.workflow.service;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * CursorPage - One page of a keyset-paginated listing
+ * 
+ * nextCursor is an opaque token for the following page, or null on the
+ * last page. Pass it back unchanged as the cursor query parameter.
+ */
+@Data
+public class CursorPage<T> {
+
+    private List<T> items = new ArrayList<>();
+    private String nextCursor;
+    private int limit;
+
+    /**
+     * Build a page from rows fetched with limit + 1; the extra row only signals a next page
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, String> cursorOf) {
+        CursorPage<T> page = new CursorPage<>();
+        page.setLimit(limit);
+        if (rows.size() > limit) {
+            List<T> items = new ArrayList<>(rows.subList(0, limit));
+            page.setItems(items);
+            page.setNextCursor(cursorOf.apply(items.get(limit - 1)));
+        } else {
+            page.setItems(rows);
+        }
+        return page;
+    }
+
+    /**
+     * Build a page from a ranked list of ids, loading only the ids on the page
+     * and keeping their rank order; the cursor is the offset of the next hit
+     */
+    public static <T> CursorPage<T> ofRanked(List<Long> rankedIds, String cursor, Integer limit,
+                                             Function<List<Long>, List<T>> loader, Function<T, Long> idOf) {
+        int size = PageCursor.limit(limit);
+        int from = Math.min(PageCursor.decodeOffset(cursor), rankedIds.size());
+        int to = Math.min(from + size, rankedIds.size());
+        List<Long> ids = rankedIds.subList(from, to);
+
+        Map<Long, T> loaded = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (T row : loader.apply(ids)) {
+                loaded.put(idOf.apply(row), row);
+            }
+        }
+        List<T> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T row = loaded.get(id);
+            if (row != null) {
+                items.add(row);
+            }
+        }
+
+        CursorPage<T> page = new CursorPage<>();
+        page.setLimit(size);
+        page.setItems(items);
+        page.setNextCursor(to < rankedIds.size() ? PageCursor.encodeOffset(to) : null);
+        return page;
+    }
+}
@@ -0,0 +1,86 @@
+package com.automobile.workflow.service;
+
+import com.automobile.workflow.engine.BulkGenerationResult;
+import com.automobile.workflow.engine.DependencyGraph;
+import com.automobile.workflow.engine.ImpactReport;
+import com.automobile.workflow.repository.ComponentRepository;
+import com.automobile.workflow.repository.WorkflowRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * ImpactAnalysisService - Finds and regenerates what a dependency change affects
+ * 
+ * Affected components come from the reverse edges of the dependency graph;
+ * affected workflows come from the indexed workflow_dependencies table plus
+ * the workflows that own the affected components.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImpactAnalysisService {
+
+    private final DependencyGraph dependencyGraph;
+    private final WorkflowRepository workflowRepository;
+    private final ComponentRepository componentRepository;
+    private final ComponentService componentService;
+
+    /**
+     * Find the components and workflows affected by a change to a dependency
+     */
+    @Transactional(readOnly = true)
+    public ImpactReport analyze(String dependency, boolean transitive) {
+        List<String> components = transitive
+            ? dependencyGraph.getTransitiveDependents(dependency)
+            : dependencyGraph.getDirectDependents(dependency);
+
+        // Workflows declaring the dependency, or (transitively) any affected component
+        Set<String> declared = new LinkedHashSet<>();
+        declared.add(dependency);
+        if (transitive) {
+            declared.addAll(components);
+        }
+        Set<Long> workflowIds = new TreeSet<>(workflowRepository.findIdsByDependencyIn(declared));
+        Set<Long> componentWorkflowIds = components.isEmpty()
+            ? new TreeSet<>()
+            : new TreeSet<>(componentRepository.findWorkflowIdsByNameIn(components));
+        workflowIds.addAll(componentWorkflowIds);
+
+        ImpactReport report = new ImpactReport();
+        report.setDependency(dependency);
+        report.setTransitive(transitive);
+        report.setAffectedComponents(components);
+        report.setAffectedWorkflowIds(new ArrayList<>(workflowIds));
+        report.setComponentWorkflowIds(new ArrayList<>(componentWorkflowIds));
+
+        log.info("Change to {} affects {} component(s) and {} workflow(s)",
+            dependency, components.size(), workflowIds.size());
+        return report;
+    }
+
+    /**
+     * Re-render every affected component in one parallel batch
+     */
+    @Transactional
+    public ImpactReport regenerateAffected(String dependency, boolean transitive, boolean writeFiles) {
+        ImpactReport report = analyze(dependency, transitive);
+        if (report.getComponentWorkflowIds().isEmpty()) {
+            report.setRegeneration(new BulkGenerationResult());
+            return report;
+        }
+
+        // Imports are baked into component code, so regenerate even if fingerprints match
+        BulkGenerationResult result = componentService.generateComponents(
+            report.getComponentWorkflowIds(), writeFiles, true);
+        report.setRegeneration(result);
+        return report;
+    }
+}
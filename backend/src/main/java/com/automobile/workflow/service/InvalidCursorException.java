@@ -0,0 +1,17 @@
+package com.automobile.workflow.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * InvalidCursorException - A page cursor that was not issued by {@link PageCursor}
+ *
+ * Answered with 400 Bad Request, since the client sent the cursor.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid page cursor: " + cursor);
+    }
+}
@@ -0,0 +1,119 @@
+package com.automobile.workflow.service;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * PageCursor - Encodes and decodes keyset pagination cursors
+ * 
+ * Cursors are URL-safe Base64 of the last row's key: its id, or its
+ * createdAt timestamp and id for listings ordered by creation time. Ranked
+ * search results, which have no stable key, use the offset of the next hit.
+ * Cursors that cannot be decoded raise {@link InvalidCursorException}.
+ */
+public final class PageCursor {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private PageCursor() {
+    }
+
+    /**
+     * Requested page size, defaulted and capped
+     */
+    public static int limit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    /**
+     * Fetch one row beyond the page to learn whether another page follows
+     */
+    public static Pageable probe(int limit) {
+        return PageRequest.ofSize(limit + 1);
+    }
+
+    public static String encodeId(Long id) {
+        return encode(String.valueOf(id));
+    }
+
+    /**
+     * Id after which the page starts; 0 for the first page
+     */
+    public static long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(decode(cursor));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    public static String encodeOffset(int offset) {
+        return encode(String.valueOf(offset));
+    }
+
+    /**
+     * Offset of the first hit of the page; 0 for the first page
+     */
+    public static int decodeOffset(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(decode(cursor));
+            if (offset < 0) {
+                throw new NumberFormatException();
+            }
+            return offset;
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    public static String encodeTimeAndId(LocalDateTime createdAt, Long id) {
+        return encode(createdAt + "|" + id);
+    }
+
+    /**
+     * Timestamp and id of the last row of the previous page, or null for the first page
+     */
+    public static TimeAndId decodeTimeAndId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] parts = decode(cursor).split("\\|", 2);
+        try {
+            return new TimeAndId(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    private static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    /**
+     * Keyset position for listings ordered by creation time
+     */
+    public record TimeAndId(LocalDateTime createdAt, Long id) {
+    }
+}
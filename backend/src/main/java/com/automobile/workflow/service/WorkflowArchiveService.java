@@ -0,0 +1,287 @@
+package com.automobile.workflow.service;
+
+import com.automobile.workflow.engine.AfterCommit;
+import com.automobile.workflow.engine.ArchivalResult;
+import com.automobile.workflow.engine.SearchIndex;
+import com.automobile.workflow.engine.WorkflowStatusCounters;
+import com.automobile.workflow.model.Workflow;
+import com.automobile.workflow.model.WorkflowStep;
+import com.automobile.workflow.repository.WorkflowRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * WorkflowArchiveService - Moves old terminal workflows to archive tables and reads them back
+ *
+ * Workflows that are COMPLETED, REJECTED or FAILED and have not changed for
+ * app.archive.after-days are copied with their steps and collections into
+ * the archived_* tables and deleted from the hot tables, one batch per
+ * transaction, with set-based INSERT ... SELECT and DELETE statements.
+ * Archived workflows leave the status counters, the search index and the
+ * second-level cache once the batch commits. They stay readable by ID
+ * through {@link #findArchived(Long)} but can no longer be changed.
+ *
+ * Archived names stay reserved, so a new workflow cannot reuse them, and
+ * components generated by an archived workflow keep its ID, which still
+ * resolves through the archive. Runs are serialized, and every batch locks
+ * its candidates and re-checks their status and age before moving them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkflowArchiveService {
+
+    private static final List<Workflow.WorkflowStatus> TERMINAL = List.of(
+        Workflow.WorkflowStatus.COMPLETED, Workflow.WorkflowStatus.REJECTED, Workflow.WorkflowStatus.FAILED);
+
+    private static final String WORKFLOW_COLUMNS = "id, name, description, status, category, component_name, "
+        + "component_type, template_name, configuration, created_by, approved_by, approved_at, definition_version, "
+        + "created_at, updated_at";
+    /** Re-checked while moving, since a candidate may have changed after it was selected */
+    private static final String STILL_ARCHIVABLE = "status IN (:statuses) AND updated_at < :cutoff";
+    private static final String STEP_COLUMNS = "id, workflow_id, step_order, step_name, step_description, "
+        + "step_type, status, configuration, executed_by, executed_at, result, error_message";
+
+    /**
+     * Element collection tables and their value column, in the order they are moved
+     */
+    private static final String[][] COLLECTIONS = {
+        {"workflow_dependencies", "dependency"},
+        {"workflow_inputs", "input_property"},
+        {"workflow_outputs", "output_property"},
+        {"workflow_validation_rules", "rule"}
+    };
+
+    private static final String[] COLLECTION_ROLES = {
+        Workflow.class.getName() + ".steps",
+        Workflow.class.getName() + ".dependencies",
+        Workflow.class.getName() + ".inputs",
+        Workflow.class.getName() + ".outputs",
+        Workflow.class.getName() + ".validationRules"
+    };
+
+    private final WorkflowRepository workflowRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final WorkflowStatusCounters statusCounters;
+    private final SearchIndex searchIndex;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archive.after-days:30}")
+    private int afterDays;
+
+    @Value("${app.archive.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.archive.interval-ms:3600000}",
+        initialDelayString = "${app.archive.interval-ms:3600000}")
+    public void archiveOnSchedule() {
+        if (enabled) {
+            archiveTerminalWorkflows();
+        }
+    }
+
+    /**
+     * Archive every terminal workflow last modified before the cutoff, batch by batch
+     *
+     * Synchronized so the scheduled job and the archive endpoint never move the same rows twice.
+     */
+    public synchronized ArchivalResult archiveTerminalWorkflows() {
+        long start = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        ArchivalResult result = new ArchivalResult();
+
+        int candidates;
+        do {
+            candidates = transactionTemplate.execute(status -> archiveBatch(cutoff, result));
+        } while (candidates == batchSize);
+
+        result.setDurationMillis(System.currentTimeMillis() - start);
+        if (result.getArchived() > 0) {
+            log.info("Archived {} terminal workflow(s) in {} batch(es), {} ms",
+                result.getArchived(), result.getBatches(), result.getDurationMillis());
+        }
+        return result;
+    }
+
+    /**
+     * An archived workflow with its steps and collections, if one exists with this ID
+     */
+    public Optional<Workflow> findArchived(Long id) {
+        MapSqlParameterSource params = new MapSqlParameterSource("id", id);
+        List<Workflow> rows = jdbcTemplate.query(
+            "SELECT " + WORKFLOW_COLUMNS + " FROM archived_workflows WHERE id = :id", params,
+            (rs, rowNum) -> mapWorkflow(rs));
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Workflow workflow = rows.get(0);
+        workflow.setSteps(jdbcTemplate.query(
+            "SELECT " + STEP_COLUMNS + " FROM archived_workflow_steps WHERE workflow_id = :id ORDER BY step_order",
+            params, (rs, rowNum) -> mapStep(rs)));
+        workflow.setDependencies(archivedValues(COLLECTIONS[0], params));
+        workflow.setInputs(archivedValues(COLLECTIONS[1], params));
+        workflow.setOutputs(archivedValues(COLLECTIONS[2], params));
+        workflow.setValidationRules(archivedValues(COLLECTIONS[3], params));
+        return Optional.of(workflow);
+    }
+
+    /**
+     * Whether an archived workflow has this name; archived names are not reused
+     */
+    public boolean isNameArchived(String name) {
+        return !findArchivedNames(List.of(name)).isEmpty();
+    }
+
+    /**
+     * The given names that belong to archived workflows
+     */
+    public List<String> findArchivedNames(Collection<String> names) {
+        if (names.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList("SELECT name FROM archived_workflows WHERE name IN (:names)",
+            new MapSqlParameterSource("names", names), String.class);
+    }
+
+    /**
+     * The given IDs that belong to archived workflows
+     */
+    public List<Long> findArchivedIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList("SELECT id FROM archived_workflows WHERE id IN (:ids)",
+            new MapSqlParameterSource("ids", ids), Long.class);
+    }
+
+    /**
+     * Move one batch inside the current transaction and add it to the result; returns the number of candidates
+     */
+    private int archiveBatch(LocalDateTime cutoff, ArchivalResult result) {
+        List<Object[]> candidates = workflowRepository.findArchivable(TERMINAL, cutoff, PageRequest.of(0, batchSize));
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        List<Long> candidateIds = new ArrayList<>(candidates.size());
+        for (Object[] row : candidates) {
+            candidateIds.add((Long) row[0]);
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", candidateIds)
+            .addValue("statuses", TERMINAL.stream().map(Enum::name).toList())
+            .addValue("cutoff", cutoff)
+            .addValue("archivedAt", LocalDateTime.now());
+
+        // Lock the candidates; one that changed or was archived since the query above drops out
+        List<Object[]> locked = jdbcTemplate.query("SELECT id, status FROM workflows WHERE id IN (:ids) AND "
+            + STILL_ARCHIVABLE + " FOR UPDATE", params,
+            (rs, rowNum) -> new Object[] {rs.getLong("id"), Workflow.WorkflowStatus.valueOf(rs.getString("status"))});
+        if (locked.isEmpty()) {
+            return candidates.size();
+        }
+        List<Long> ids = new ArrayList<>(locked.size());
+        for (Object[] row : locked) {
+            ids.add((Long) row[0]);
+        }
+        params.addValue("ids", ids);
+
+        jdbcTemplate.update("INSERT INTO archived_workflows (" + WORKFLOW_COLUMNS + ", archived_at) SELECT "
+            + WORKFLOW_COLUMNS + ", :archivedAt FROM workflows WHERE id IN (:ids) AND " + STILL_ARCHIVABLE, params);
+        jdbcTemplate.update("INSERT INTO archived_workflow_steps (" + STEP_COLUMNS + ") SELECT " + STEP_COLUMNS
+            + " FROM workflow_steps WHERE workflow_id IN (:ids)", params);
+        for (String[] collection : COLLECTIONS) {
+            jdbcTemplate.update("INSERT INTO archived_" + collection[0] + " (workflow_id, " + collection[1]
+                + ") SELECT workflow_id, " + collection[1] + " FROM " + collection[0]
+                + " WHERE workflow_id IN (:ids)", params);
+            jdbcTemplate.update("DELETE FROM " + collection[0] + " WHERE workflow_id IN (:ids)", params);
+        }
+        jdbcTemplate.update("DELETE FROM workflow_steps WHERE workflow_id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM workflows WHERE id IN (:ids) AND " + STILL_ARCHIVABLE, params);
+
+        for (Object[] row : locked) {
+            statusCounters.recordTransition((Workflow.WorkflowStatus) row[1], null);
+            searchIndex.removeWorkflow((Long) row[0]);
+        }
+        AfterCommit.run(() -> evict(ids));
+        result.setArchived(result.getArchived() + ids.size());
+        result.setBatches(result.getBatches() + 1);
+        return candidates.size();
+    }
+
+    /**
+     * Drop archived workflows from the second-level cache; the JDBC deletes bypass Hibernate
+     */
+    private void evict(List<Long> ids) {
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        for (Long id : ids) {
+            cache.evictEntityData(Workflow.class, id);
+            for (String role : COLLECTION_ROLES) {
+                cache.evictCollectionData(role, id);
+            }
+        }
+        cache.evictEntityData(WorkflowStep.class);
+        cache.evictDefaultQueryRegion();
+    }
+
+    private List<String> archivedValues(String[] collection, MapSqlParameterSource params) {
+        return jdbcTemplate.queryForList("SELECT " + collection[1] + " FROM archived_" + collection[0]
+            + " WHERE workflow_id = :id", params, String.class);
+    }
+
+    private static Workflow mapWorkflow(ResultSet rs) throws SQLException {
+        return Workflow.builder()
+            .id(rs.getLong("id"))
+            .name(rs.getString("name"))
+            .description(rs.getString("description"))
+            .status(Workflow.WorkflowStatus.valueOf(rs.getString("status")))
+            .category(Workflow.ComponentCategory.valueOf(rs.getString("category")))
+            .componentName(rs.getString("component_name"))
+            .componentType(rs.getString("component_type"))
+            .templateName(rs.getString("template_name"))
+            .configuration(rs.getString("configuration"))
+            .createdBy(rs.getString("created_by"))
+            .approvedBy(rs.getString("approved_by"))
+            .approvedAt(rs.getObject("approved_at", LocalDateTime.class))
+            .definitionVersion(rs.getObject("definition_version", Integer.class))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+            .build();
+    }
+
+    private static WorkflowStep mapStep(ResultSet rs) throws SQLException {
+        return WorkflowStep.builder()
+            .id(rs.getLong("id"))
+            .stepOrder(rs.getInt("step_order"))
+            .stepName(rs.getString("step_name"))
+            .stepDescription(rs.getString("step_description"))
+            .stepType(WorkflowStep.StepType.valueOf(rs.getString("step_type")))
+            .status(WorkflowStep.StepStatus.valueOf(rs.getString("status")))
+            .configuration(rs.getString("configuration"))
+            .executedBy(rs.getString("executed_by"))
+            .executedAt(rs.getObject("executed_at", LocalDateTime.class))
+            .result(rs.getString("result"))
+            .errorMessage(rs.getString("error_message"))
+            .build();
+    }
+}
@@ -1,16 +1,29 @@
 package com.automobile.workflow.service;
 
+import com.automobile.workflow.engine.BulkValidationRequest;
+import com.automobile.workflow.engine.EntityCacheMetrics;
+import com.automobile.workflow.engine.SearchIndex;
+import com.automobile.workflow.engine.ValidationService;
+import com.automobile.workflow.engine.WorkflowDefinitionStore;
+import com.automobile.workflow.engine.WorkflowStatusCounters;
+import com.automobile.workflow.engine.WorkflowValidationResult;
 import com.automobile.workflow.model.Workflow;
+import com.automobile.workflow.model.WorkflowDefinitionSummary;
 import com.automobile.workflow.model.WorkflowStep;
+import com.automobile.workflow.model.WorkflowSummary;
 import com.automobile.workflow.repository.WorkflowRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * WorkflowService - Business logic for workflow management
@@ -21,6 +34,12 @@ import java.util.Map;
 public class WorkflowService {
 
     private final WorkflowRepository workflowRepository;
+    private final ValidationService validationService;
+    private final WorkflowStatusCounters statusCounters;
+    private final SearchIndex searchIndex;
+    private final EntityCacheMetrics entityCacheMetrics;
+    private final WorkflowArchiveService workflowArchiveService;
+    private final WorkflowDefinitionStore definitionStore;
 
     /**
      * Create a new workflow
@@ -29,36 +48,28 @@ public class WorkflowService {
     public Workflow createWorkflow(Workflow workflow) {
         log.info("Creating workflow: {}", workflow.getName());
 
-        // Validate workflow name is unique
-        if (workflowRepository.existsByName(workflow.getName())) {
+        // Validate workflow name is unique, including archived workflows
+        if (workflowRepository.existsByName(workflow.getName())
+                || workflowArchiveService.isNameArchived(workflow.getName())) {
             throw new RuntimeException("Workflow with name '" + workflow.getName() + "' already exists");
         }
 
-        // Set initial status
-        if (workflow.getStatus() == null) {
-            workflow.setStatus(Workflow.WorkflowStatus.DRAFT);
-        }
-
-        // Initialize default steps if not provided
-        if (workflow.getSteps() == null || workflow.getSteps().isEmpty()) {
-            workflow.setSteps(createDefaultSteps(workflow));
-        }
-
-        // Set workflow reference for steps
-        for (WorkflowStep step : workflow.getSteps()) {
-            step.setWorkflow(workflow);
-        }
-
+        prepareNew(workflow);
         Workflow saved = workflowRepository.save(workflow);
+        statusCounters.recordTransition(null, saved.getStatus());
+        searchIndex.putWorkflow(saved);
         log.info("Workflow created successfully with ID: {}", saved.getId());
         return saved;
     }
 
     /**
-     * Get all workflows
+     * Get a page of workflows
      */
-    public List<Workflow> getAllWorkflows() {
-        return workflowRepository.findAll();
+    public CursorPage<WorkflowSummary> getAllWorkflows(String cursor, Integer limit) {
+        int size = PageCursor.limit(limit);
+        List<WorkflowSummary> rows = workflowRepository.findSummaries(
+            PageCursor.decodeId(cursor), PageCursor.probe(size));
+        return CursorPage.of(rows, size, workflow -> PageCursor.encodeId(workflow.getId()));
     }
 
     /**
@@ -69,12 +80,63 @@ public class WorkflowService {
             .orElseThrow(() -> new RuntimeException("Workflow not found with ID: " + id));
     }
 
+    /**
+     * Get workflow by ID, reading archived workflows from the archive tables
+     */
+    public Workflow getWorkflowOrArchived(Long id) {
+        return workflowRepository.findById(id)
+            .or(() -> workflowArchiveService.findArchived(id))
+            .orElseThrow(() -> new RuntimeException("Workflow not found with ID: " + id));
+    }
+
+    /**
+     * Get a workflow with its steps and collections loaded, for the detail view
+     *
+     * The workflow, its steps and its collections come from the second-level cache when present.
+     * Workflows that have been archived are read from the archive tables.
+     */
+    @Transactional(readOnly = true)
+    public Workflow getWorkflowDetails(Long id) {
+        Workflow workflow = workflowRepository.findById(id).orElse(null);
+        if (workflow == null) {
+            return workflowArchiveService.findArchived(id)
+                .orElseThrow(() -> new RuntimeException("Workflow not found with ID: " + id));
+        }
+        Hibernate.initialize(workflow.getSteps());
+        Hibernate.initialize(workflow.getDependencies());
+        Hibernate.initialize(workflow.getInputs());
+        Hibernate.initialize(workflow.getOutputs());
+        Hibernate.initialize(workflow.getValidationRules());
+        return workflow;
+    }
+
+    /**
+     * Definition versions frozen at each approval of a workflow, newest first
+     */
+    public List<WorkflowDefinitionSummary> getDefinitionVersions(Long id) {
+        return definitionStore.listVersions(id);
+    }
+
+    /**
+     * One frozen definition version of a workflow, as it was approved
+     */
+    public Workflow getDefinition(Long id, int version) {
+        return definitionStore.load(id, version);
+    }
+
     /**
      * Update workflow
+     *
+     * Only the live workflow changes; approved definition versions, and so
+     * executions of them, are not affected until the workflow is approved again.
      */
     @Transactional
     public Workflow updateWorkflow(Long id, Workflow workflow) {
         Workflow existing = getWorkflowById(id);
+        if (!existing.getName().equals(workflow.getName())
+                && workflowArchiveService.isNameArchived(workflow.getName())) {
+            throw new RuntimeException("Workflow with name '" + workflow.getName() + "' already exists");
+        }
 
         // Update fields
         existing.setName(workflow.getName());
@@ -83,11 +145,15 @@ public class WorkflowService {
         existing.setComponentName(workflow.getComponentName());
         existing.setComponentType(workflow.getComponentType());
         existing.setDependencies(workflow.getDependencies());
+        existing.setInputs(workflow.getInputs());
+        existing.setOutputs(workflow.getOutputs());
         existing.setValidationRules(workflow.getValidationRules());
         existing.setTemplateName(workflow.getTemplateName());
         existing.setConfiguration(workflow.getConfiguration());
 
-        return workflowRepository.save(existing);
+        Workflow saved = workflowRepository.save(existing);
+        searchIndex.putWorkflow(saved);
+        return saved;
     }
 
     /**
@@ -97,28 +163,91 @@ public class WorkflowService {
     public void deleteWorkflow(Long id) {
         Workflow workflow = getWorkflowById(id);
         workflowRepository.delete(workflow);
+        statusCounters.recordTransition(workflow.getStatus(), null);
+        searchIndex.removeWorkflow(id);
         log.info("Workflow deleted: {}", id);
     }
 
     /**
-     * Get workflows by status
+     * Search workflows by name and description, best match first, one page at a time
      */
-    public List<Workflow> getWorkflowsByStatus(Workflow.WorkflowStatus status) {
-        return workflowRepository.findByStatus(status);
+    public CursorPage<WorkflowSummary> searchWorkflows(String query, Workflow.ComponentCategory category,
+                                                       String cursor, Integer limit) {
+        List<Long> ranked = searchIndex.searchWorkflows(query, category);
+        return CursorPage.ofRanked(ranked, cursor, limit,
+            workflowRepository::findSummariesByIdIn, WorkflowSummary::getId);
     }
 
     /**
-     * Get workflows by category
+     * Get a page of workflows by status
      */
-    public List<Workflow> getWorkflowsByCategory(Workflow.ComponentCategory category) {
-        return workflowRepository.findByCategory(category);
+    public CursorPage<WorkflowSummary> getWorkflowsByStatus(Workflow.WorkflowStatus status, String cursor,
+                                                            Integer limit) {
+        int size = PageCursor.limit(limit);
+        List<WorkflowSummary> rows = workflowRepository.findSummariesByStatus(
+            status, PageCursor.decodeId(cursor), PageCursor.probe(size));
+        return CursorPage.of(rows, size, workflow -> PageCursor.encodeId(workflow.getId()));
     }
 
     /**
-     * Get pending approval workflows
+     * Get a page of workflows by category
      */
-    public List<Workflow> getPendingApprovalWorkflows() {
-        return workflowRepository.findPendingApprovalWorkflows();
+    public CursorPage<WorkflowSummary> getWorkflowsByCategory(Workflow.ComponentCategory category, String cursor,
+                                                              Integer limit) {
+        int size = PageCursor.limit(limit);
+        List<WorkflowSummary> rows = workflowRepository.findSummariesByCategory(
+            category, PageCursor.decodeId(cursor), PageCursor.probe(size));
+        return CursorPage.of(rows, size, workflow -> PageCursor.encodeId(workflow.getId()));
+    }
+
+    /**
+     * Get a page of pending approval workflows, newest first
+     */
+    public CursorPage<WorkflowSummary> getPendingApprovalWorkflows(String cursor, Integer limit) {
+        int size = PageCursor.limit(limit);
+        PageCursor.TimeAndId after = PageCursor.decodeTimeAndId(cursor);
+        List<WorkflowSummary> rows = after == null
+            ? workflowRepository.findPendingApprovalSummaries(PageCursor.probe(size))
+            : workflowRepository.findPendingApprovalSummariesBefore(after.createdAt(), after.id(),
+                PageCursor.probe(size));
+        return CursorPage.of(rows, size,
+            workflow -> PageCursor.encodeTimeAndId(workflow.getCreatedAt(), workflow.getId()));
+    }
+
+    /**
+     * Validate submitted definitions and stored workflows in one pass
+     */
+    @Transactional(readOnly = true)
+    public List<WorkflowValidationResult> validateWorkflows(BulkValidationRequest request) {
+        List<Workflow> workflows = new ArrayList<>();
+        if (request.getWorkflows() != null) {
+            workflows.addAll(request.getWorkflows());
+        }
+
+        List<Long> ids = request.getWorkflowIds() != null ? request.getWorkflowIds() : List.of();
+        Map<Long, Workflow> stored = workflowRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Workflow::getId, Function.identity()));
+        List<WorkflowValidationResult> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Workflow workflow = stored.get(id);
+            if (workflow == null) {
+                WorkflowValidationResult result = new WorkflowValidationResult();
+                result.setWorkflowId(id);
+                result.getErrors().add("Workflow not found with ID: " + id);
+                missing.add(result);
+                continue;
+            }
+            // Load lazy collections here; validation runs on other threads
+            Hibernate.initialize(workflow.getDependencies());
+            Hibernate.initialize(workflow.getInputs());
+            Hibernate.initialize(workflow.getOutputs());
+            Hibernate.initialize(workflow.getValidationRules());
+            workflows.add(workflow);
+        }
+
+        List<WorkflowValidationResult> results = new ArrayList<>(validationService.validateAll(workflows));
+        results.addAll(missing);
+        return results;
     }
 
     /**
@@ -126,19 +255,46 @@ public class WorkflowService {
      */
     public Map<String, Object> getWorkflowStatistics() {
         Map<String, Object> stats = new HashMap<>();
-        
-        stats.put("total", workflowRepository.count());
-        stats.put("draft", workflowRepository.countByStatus(Workflow.WorkflowStatus.DRAFT));
-        stats.put("pendingApproval", workflowRepository.countByStatus(Workflow.WorkflowStatus.PENDING_APPROVAL));
-        stats.put("approved", workflowRepository.countByStatus(Workflow.WorkflowStatus.APPROVED));
-        stats.put("inProgress", workflowRepository.countByStatus(Workflow.WorkflowStatus.IN_PROGRESS));
-        stats.put("completed", workflowRepository.countByStatus(Workflow.WorkflowStatus.COMPLETED));
-        stats.put("failed", workflowRepository.countByStatus(Workflow.WorkflowStatus.FAILED));
-        stats.put("rejected", workflowRepository.countByStatus(Workflow.WorkflowStatus.REJECTED));
+        Map<Workflow.WorkflowStatus, Long> counts = statusCounters.getCounts();
+
+        stats.put("total", statusCounters.getTotal());
+        stats.put("draft", counts.get(Workflow.WorkflowStatus.DRAFT));
+        stats.put("pendingApproval", counts.get(Workflow.WorkflowStatus.PENDING_APPROVAL));
+        stats.put("approved", counts.get(Workflow.WorkflowStatus.APPROVED));
+        stats.put("inProgress", counts.get(Workflow.WorkflowStatus.IN_PROGRESS));
+        stats.put("completed", counts.get(Workflow.WorkflowStatus.COMPLETED));
+        stats.put("failed", counts.get(Workflow.WorkflowStatus.FAILED));
+        stats.put("rejected", counts.get(Workflow.WorkflowStatus.REJECTED));
+        stats.put("validationCache", validationService.getCacheStatistics());
+        stats.put("entityCache", entityCacheMetrics.getRegionStatistics(Workflow.class.getName()));
+        stats.put("queryCache", entityCacheMetrics.getQueryCacheStatistics());
 
         return stats;
     }
 
+    /**
+     * Apply the defaults of a new workflow: DRAFT status and the default steps if none are given
+     */
+    void prepareNew(Workflow workflow) {
+        // Set initial status
+        if (workflow.getStatus() == null) {
+            workflow.setStatus(Workflow.WorkflowStatus.DRAFT);
+        }
+
+        // Definition versions are only written by approval
+        workflow.setDefinitionVersion(null);
+
+        // Initialize default steps if not provided
+        if (workflow.getSteps() == null || workflow.getSteps().isEmpty()) {
+            workflow.setSteps(createDefaultSteps(workflow));
+        }
+
+        // Set workflow reference for steps
+        for (WorkflowStep step : workflow.getSteps()) {
+            step.setWorkflow(workflow);
+        }
+    }
+
     /**
      * Create default workflow steps
      */
@@ -0,0 +1,326 @@
+package com.automobile.workflow.service;
+
+import com.automobile.workflow.engine.SearchIndex;
+import com.automobile.workflow.engine.ValidationService;
+import com.automobile.workflow.engine.WorkflowImportResult;
+import com.automobile.workflow.engine.WorkflowStatusCounters;
+import com.automobile.workflow.engine.WorkflowValidationResult;
+import com.automobile.workflow.model.Workflow;
+import com.automobile.workflow.model.WorkflowStep;
+import com.automobile.workflow.repository.WorkflowRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * WorkflowTransferService - Streaming NDJSON import and export of workflow definitions
+ *
+ * Import reads one JSON object per line with Jackson's streaming parser, so
+ * only the current batch is held in memory. Each batch is checked for
+ * required fields, run through the validation step's checks, and checked
+ * for duplicate names, archived ones included (one IN query per table and
+ * batch instead of one existsByName per workflow). It is then inserted with
+ * a JDBC-batched saveAll in its own transaction, as DRAFT workflows. Export streams workflows from the database in ID order
+ * and writes them in small chunks, clearing the persistence context after
+ * each, so memory use does not grow with the catalog.
+ */
+@Service
+@Slf4j
+public class WorkflowTransferService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    // Matches hibernate.default_batch_fetch_size, so each chunk's collections load together
+    private static final int EXPORT_CHUNK = 50;
+
+    private final WorkflowRepository workflowRepository;
+    private final WorkflowService workflowService;
+    private final WorkflowArchiveService workflowArchiveService;
+    private final ValidationService validationService;
+    private final WorkflowStatusCounters statusCounters;
+    private final SearchIndex searchIndex;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    private final int batchSize;
+
+    public WorkflowTransferService(WorkflowRepository workflowRepository,
+                                   WorkflowService workflowService,
+                                   WorkflowArchiveService workflowArchiveService,
+                                   ValidationService validationService,
+                                   WorkflowStatusCounters statusCounters,
+                                   SearchIndex searchIndex,
+                                   EntityManager entityManager,
+                                   ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.workflow.import-batch-size:500}") int batchSize) {
+        this.workflowRepository = workflowRepository;
+        this.workflowService = workflowService;
+        this.workflowArchiveService = workflowArchiveService;
+        this.validationService = validationService;
+        this.statusCounters = statusCounters;
+        this.searchIndex = searchIndex;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Import workflow definitions from an NDJSON stream, one batch per transaction
+     *
+     * Committed batches stay imported if a later line cannot be parsed; the
+     * import stops there and the error names the line.
+     */
+    public WorkflowImportResult importWorkflows(InputStream in) throws IOException {
+        long start = System.currentTimeMillis();
+        WorkflowImportResult result = new WorkflowImportResult();
+        List<Workflow> batch = new ArrayList<>(batchSize);
+        List<Integer> lines = new ArrayList<>(batchSize);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            JsonToken token;
+            while ((token = nextToken(parser, result)) != null) {
+                int line = parser.currentLocation().getLineNr();
+                result.setRead(result.getRead() + 1);
+                // Read the whole object first so a bad value only rejects its own line
+                JsonNode node = readTree(parser, line, result);
+                if (node == null) {
+                    break;
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    reject(result, line, "expected a JSON object");
+                    continue;
+                }
+                try {
+                    batch.add(objectMapper.treeToValue(node, Workflow.class));
+                    lines.add(line);
+                } catch (JsonProcessingException e) {
+                    reject(result, line, e.getOriginalMessage());
+                    continue;
+                }
+                if (batch.size() == batchSize) {
+                    importBatch(batch, lines, result);
+                    batch.clear();
+                    lines.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, lines, result);
+        }
+
+        result.setDurationMillis(System.currentTimeMillis() - start);
+        log.info("Imported {} of {} workflow(s), {} rejected, in {} ms",
+            result.getImported(), result.getRead(), result.getRejected(), result.getDurationMillis());
+        return result;
+    }
+
+    /**
+     * Write every workflow as one JSON object per line
+     */
+    public void exportWorkflows(OutputStream out) {
+        ObjectWriter writer = objectMapper.writerFor(Workflow.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long start = System.currentTimeMillis();
+        long count = readTransaction.execute(status -> {
+            // Keep a full scan from flooding the second-level cache
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            List<Workflow> chunk = new ArrayList<>(EXPORT_CHUNK);
+            long written = 0;
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+                 Stream<Workflow> workflows = workflowRepository.streamAll()) {
+                Iterator<Workflow> iterator = workflows.iterator();
+                while (iterator.hasNext()) {
+                    chunk.add(iterator.next());
+                    if (chunk.size() == EXPORT_CHUNK) {
+                        written += writeChunk(chunk, writer, generator);
+                        chunk.clear();
+                    }
+                }
+                written += writeChunk(chunk, writer, generator);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Workflow export failed", e);
+            }
+            return written;
+        });
+        log.info("Exported {} workflow(s) in {} ms", count, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Write a chunk and drop it from the persistence context
+     *
+     * The first lazy collection touched loads that collection for the whole
+     * chunk (hibernate.default_batch_fetch_size), so a chunk costs a handful
+     * of queries rather than several per workflow.
+     */
+    private int writeChunk(List<Workflow> chunk, ObjectWriter writer, JsonGenerator generator) throws IOException {
+        for (Workflow workflow : chunk) {
+            writer.writeValue(generator, workflow);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        entityManager.clear();
+        return chunk.size();
+    }
+
+    private void importBatch(List<Workflow> batch, List<Integer> lines, WorkflowImportResult result) {
+        List<Workflow> complete = new ArrayList<>(batch.size());
+        List<Integer> completeLines = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            String error = missingField(batch.get(i));
+            if (error != null) {
+                reject(result, lines.get(i), error);
+            } else {
+                complete.add(batch.get(i));
+                completeLines.add(lines.get(i));
+            }
+        }
+
+        List<WorkflowValidationResult> validations = validationService.validateAll(complete);
+        List<Workflow> accepted = new ArrayList<>(complete.size());
+        List<Integer> acceptedLines = new ArrayList<>(complete.size());
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < complete.size(); i++) {
+            Workflow workflow = complete.get(i);
+            if (!validations.get(i).isValid()) {
+                reject(result, completeLines.get(i), String.join(", ", validations.get(i).getErrors()));
+            } else if (!names.add(workflow.getName())) {
+                reject(result, completeLines.get(i), "duplicate name '" + workflow.getName() + "' in import");
+            } else {
+                accepted.add(workflow);
+                acceptedLines.add(completeLines.get(i));
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<String> taken = new ArrayList<>();
+        try {
+            int imported = writeTransaction.execute(status -> {
+                taken.addAll(workflowRepository.findExistingNames(names));
+                taken.addAll(workflowArchiveService.findArchivedNames(names));
+                List<Workflow> fresh = new ArrayList<>(accepted.size());
+                for (Workflow workflow : accepted) {
+                    if (taken.contains(workflow.getName())) {
+                        continue;
+                    }
+                    resetToDraft(workflow);
+                    workflowService.prepareNew(workflow);
+                    fresh.add(workflow);
+                }
+                for (Workflow saved : workflowRepository.saveAll(fresh)) {
+                    statusCounters.recordTransition(null, saved.getStatus());
+                    searchIndex.putWorkflow(saved);
+                }
+                return fresh.size();
+            });
+            result.setImported(result.getImported() + imported);
+            for (int i = 0; i < accepted.size(); i++) {
+                if (taken.contains(accepted.get(i).getName())) {
+                    reject(result, acceptedLines.get(i), "workflow '" + accepted.get(i).getName() + "' already exists");
+                }
+            }
+        } catch (DataAccessException e) {
+            String message = "batch not imported: " + e.getMostSpecificCause().getMessage();
+            for (Integer line : acceptedLines) {
+                reject(result, line, message);
+            }
+        }
+    }
+
+    /**
+     * Imported definitions get new IDs and start as drafts; approval and execution state is never imported
+     */
+    private static void resetToDraft(Workflow workflow) {
+        workflow.setId(null);
+        workflow.setStatus(Workflow.WorkflowStatus.DRAFT);
+        workflow.setApprovedBy(null);
+        workflow.setApprovedAt(null);
+        if (workflow.getSteps() != null) {
+            for (WorkflowStep step : workflow.getSteps()) {
+                step.setId(null);
+                step.setStatus(WorkflowStep.StepStatus.PENDING);
+                step.setExecutedBy(null);
+                step.setExecutedAt(null);
+                step.setResult(null);
+                step.setErrorMessage(null);
+            }
+        }
+    }
+
+    private static String missingField(Workflow workflow) {
+        if (workflow.getName() == null || workflow.getName().isBlank()) {
+            return "name is required";
+        }
+        if (workflow.getCategory() == null) {
+            return "category is required";
+        }
+        if (workflow.getComponentName() == null) {
+            return "componentName is required";
+        }
+        if (workflow.getComponentType() == null) {
+            return "componentType is required";
+        }
+        if (workflow.getTemplateName() == null) {
+            return "templateName is required";
+        }
+        if (workflow.getCreatedBy() == null) {
+            return "createdBy is required";
+        }
+        return null;
+    }
+
+    private JsonNode readTree(JsonParser parser, int line, WorkflowImportResult result) throws IOException {
+        try {
+            return objectMapper.readTree(parser);
+        } catch (JsonProcessingException e) {
+            reject(result, line, e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private static JsonToken nextToken(JsonParser parser, WorkflowImportResult result) throws IOException {
+        try {
+            return parser.nextToken();
+        } catch (JsonProcessingException e) {
+            reject(result, parser.currentLocation().getLineNr(), e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private static void reject(WorkflowImportResult result, int line, String message) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add("Line " + line + ": " + message);
+        }
+    }
+}
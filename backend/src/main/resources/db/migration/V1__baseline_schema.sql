@@ -0,0 +1,119 @@
+-- Baseline schema, matching the tables Hibernate generated from the entities
+
+create sequence workflow_seq start with 1 increment by 50;
+create sequence workflow_step_seq start with 1 increment by 50;
+create sequence component_seq start with 1 increment by 50;
+
+create table workflows (
+    id             bigint        not null,
+    name           varchar(255)  not null,
+    description    varchar(1000),
+    status         varchar(255)  not null,
+    category       varchar(255)  not null,
+    component_name varchar(255)  not null,
+    component_type varchar(255)  not null,
+    template_name  varchar(255)  not null,
+    configuration  varchar(2000),
+    created_by     varchar(255)  not null,
+    approved_by    varchar(255),
+    approved_at    timestamp(6),
+    created_at     timestamp(6)  not null,
+    updated_at     timestamp(6),
+    constraint pk_workflows primary key (id),
+    constraint uk_workflows_name unique (name)
+);
+
+create table workflow_dependencies (
+    workflow_id bigint not null,
+    dependency  varchar(255),
+    constraint fk_workflow_dependencies_workflow foreign key (workflow_id) references workflows (id)
+);
+create index idx_workflow_dependency on workflow_dependencies (dependency);
+
+create table workflow_inputs (
+    workflow_id    bigint not null,
+    input_property varchar(255),
+    constraint fk_workflow_inputs_workflow foreign key (workflow_id) references workflows (id)
+);
+
+create table workflow_outputs (
+    workflow_id     bigint not null,
+    output_property varchar(255),
+    constraint fk_workflow_outputs_workflow foreign key (workflow_id) references workflows (id)
+);
+
+create table workflow_validation_rules (
+    workflow_id bigint not null,
+    rule        varchar(255),
+    constraint fk_workflow_validation_rules_workflow foreign key (workflow_id) references workflows (id)
+);
+
+create table workflow_steps (
+    id               bigint        not null,
+    workflow_id      bigint        not null,
+    step_order       integer       not null,
+    step_name        varchar(255)  not null,
+    step_description varchar(1000),
+    step_type        varchar(255)  not null,
+    status           varchar(255)  not null,
+    configuration    varchar(2000),
+    executed_by      varchar(255),
+    executed_at      timestamp(6),
+    result           varchar(2000),
+    error_message    varchar(2000),
+    constraint pk_workflow_steps primary key (id),
+    constraint fk_workflow_steps_workflow foreign key (workflow_id) references workflows (id)
+);
+
+create table code_blobs (
+    hash      varchar(64) not null,
+    content   blob        not null,
+    size      integer     not null,
+    ref_count bigint      not null,
+    constraint pk_code_blobs primary key (hash)
+);
+
+create table components (
+    id                 bigint        not null,
+    name               varchar(255)  not null,
+    description        varchar(1000),
+    category           varchar(255)  not null,
+    component_type     varchar(255)  not null,
+    selector           varchar(255)  not null,
+    template_blob_hash varchar(64)   not null,
+    style_blob_hash    varchar(64),
+    test_blob_hash     varchar(64),
+    code_fingerprint   varchar(64),
+    style_fingerprint  varchar(64),
+    test_fingerprint   varchar(64),
+    version            varchar(255)  not null,
+    created_by         varchar(255)  not null,
+    workflow_id        bigint        not null,
+    created_at         timestamp(6)  not null,
+    is_active          boolean       not null,
+    metadata           varchar(2000),
+    constraint pk_components primary key (id),
+    constraint uk_components_name unique (name),
+    constraint fk_components_template_blob foreign key (template_blob_hash) references code_blobs (hash),
+    constraint fk_components_style_blob foreign key (style_blob_hash) references code_blobs (hash),
+    constraint fk_components_test_blob foreign key (test_blob_hash) references code_blobs (hash)
+);
+
+create table component_dependencies (
+    component_id bigint not null,
+    dependency   varchar(255),
+    constraint fk_component_dependencies_component foreign key (component_id) references components (id)
+);
+create index idx_component_dependency on component_dependencies (dependency);
+
+create table component_inputs (
+    component_id   bigint not null,
+    input_property varchar(255),
+    constraint fk_component_inputs_component foreign key (component_id) references components (id)
+);
+
+create table component_outputs (
+    component_id    bigint not null,
+    output_property varchar(255),
+    constraint fk_component_outputs_component foreign key (component_id) references components (id)
+);
@@ -0,0 +1,34 @@
+-- Indexes for the filters and keyset orderings used by the repositories.
+-- Keyset pages filter on one column and order by id, so id is the trailing column.
+
+-- Status pages (findSummariesByStatus), findByStatus and the GROUP BY status counts
+create index idx_workflows_status_id on workflows (status, id);
+-- Pending approval list, newest first (findPendingApprovalSummaries*)
+create index idx_workflows_status_created on workflows (status, created_at, id);
+-- findByStatusAndCategory
+create index idx_workflows_status_category on workflows (status, category);
+-- Category pages (findSummariesByCategory) and findByCategory
+create index idx_workflows_category_id on workflows (category, id);
+create index idx_workflows_created_by on workflows (created_by);
+
+-- Steps are always loaded per workflow, in order
+create index idx_workflow_steps_workflow on workflow_steps (workflow_id, step_order);
+
+-- Owner lookups for the element collections
+create index idx_workflow_dependencies_workflow on workflow_dependencies (workflow_id);
+create index idx_workflow_inputs_workflow on workflow_inputs (workflow_id);
+create index idx_workflow_outputs_workflow on workflow_outputs (workflow_id);
+create index idx_workflow_validation_rules_workflow on workflow_validation_rules (workflow_id);
+create index idx_component_dependencies_component on component_dependencies (component_id);
+create index idx_component_inputs_component on component_inputs (component_id);
+create index idx_component_outputs_component on component_outputs (component_id);
+
+-- Workflow pages (findSummariesByWorkflowId), findByWorkflowId and impact analysis
+create index idx_components_workflow_id on components (workflow_id, id);
+-- Active pages (findActiveSummaries), findByIsActiveTrue and the search/dependency loads
+create index idx_components_active_id on components (is_active, id);
+-- findByCategoryAndIsActive and the GROUP BY category, active counts
+create index idx_components_category_active on components (category, is_active);
+-- Category pages (findSummariesByCategory) and findByCategory
+create index idx_components_category_id on components (category, id);
+create index idx_components_created_by on components (created_by);
@@ -0,0 +1,65 @@
+-- Cold storage for terminal workflows (COMPLETED, REJECTED, FAILED).
+-- Same columns as the hot tables; rows are moved here in batches by the archival job.
+
+create table archived_workflows (
+    id             bigint        not null,
+    name           varchar(255)  not null,
+    description    varchar(1000),
+    status         varchar(255)  not null,
+    category       varchar(255)  not null,
+    component_name varchar(255)  not null,
+    component_type varchar(255)  not null,
+    template_name  varchar(255)  not null,
+    configuration  varchar(2000),
+    created_by     varchar(255)  not null,
+    approved_by    varchar(255),
+    approved_at    timestamp(6),
+    created_at     timestamp(6)  not null,
+    updated_at     timestamp(6),
+    archived_at    timestamp(6)  not null,
+    constraint pk_archived_workflows primary key (id)
+);
+
+create table archived_workflow_steps (
+    id               bigint        not null,
+    workflow_id      bigint        not null,
+    step_order       integer       not null,
+    step_name        varchar(255)  not null,
+    step_description varchar(1000),
+    step_type        varchar(255)  not null,
+    status           varchar(255)  not null,
+    configuration    varchar(2000),
+    executed_by      varchar(255),
+    executed_at      timestamp(6),
+    result           varchar(2000),
+    error_message    varchar(2000),
+    constraint pk_archived_workflow_steps primary key (id)
+);
+create index idx_archived_workflow_steps_workflow on archived_workflow_steps (workflow_id, step_order);
+
+create table archived_workflow_dependencies (
+    workflow_id bigint not null,
+    dependency  varchar(255)
+);
+create index idx_archived_workflow_dependencies_workflow on archived_workflow_dependencies (workflow_id);
+
+create table archived_workflow_inputs (
+    workflow_id    bigint not null,
+    input_property varchar(255)
+);
+create index idx_archived_workflow_inputs_workflow on archived_workflow_inputs (workflow_id);
+
+create table archived_workflow_outputs (
+    workflow_id     bigint not null,
+    output_property varchar(255)
+);
+create index idx_archived_workflow_outputs_workflow on archived_workflow_outputs (workflow_id);
+
+create table archived_workflow_validation_rules (
+    workflow_id bigint not null,
+    rule        varchar(255)
+);
+create index idx_archived_workflow_validation_rules_workflow on archived_workflow_validation_rules (workflow_id);
+
+-- Finds archival candidates: terminal status, oldest activity first
+create index idx_workflows_status_updated on workflows (status, updated_at);
@@ -0,0 +1,19 @@
+-- Immutable workflow definitions, one version per approval; executions run against them.
+-- No foreign key to workflows: versions outlive archival and deletion of their workflow.
+
+create sequence workflow_definition_seq start with 1 increment by 50;
+
+create table workflow_definitions (
+    id          bigint        not null,
+    workflow_id bigint        not null,
+    version     integer       not null,
+    definition  blob          not null,
+    approved_by varchar(255),
+    created_at  timestamp(6)  not null,
+    constraint pk_workflow_definitions primary key (id),
+    constraint uk_workflow_definitions_version unique (workflow_id, version)
+);
+
+-- Version frozen at the latest approval; null until the workflow is first approved
+alter table workflows add column definition_version integer;
+alter table archived_workflows add column definition_version integer;
@@ -0,0 +1,2 @@
+-- Archived names stay reserved; workflow create and import look them up by name
+create index idx_archived_workflows_name on archived_workflows (name);
@@ -0,0 +1,55 @@
+package com.automobile.workflow.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ComponentFileWriterTest {
+
+    @TempDir
+    Path output;
+
+    @Test
+    void collidingDirectoryNamesAreReportedNotFatal() throws IOException {
+        ComponentFileWriter writer = new ComponentFileWriter(output.toString());
+        try (ComponentFileWriter.Batch batch = writer.openBatch()) {
+            assertTrue(batch.stage("ABC", files("ABC", "first")));
+            assertFalse(batch.stage("Abc", files("Abc", "second")));
+            assertFalse(batch.stage("ABC", files("ABC", "again")));
+            assertEquals(1, batch.commit().size());
+        }
+
+        Path published = writer.componentDirectory("ABC").resolve(ComponentFileWriter.fileName("ABC",
+            ComponentFileWriter.TYPESCRIPT_SUFFIX));
+        assertEquals("first", Files.readString(published, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void republishingReplacesFiles() throws IOException {
+        ComponentFileWriter writer = new ComponentFileWriter(output.toString());
+        for (String code : List.of("v1", "v2")) {
+            try (ComponentFileWriter.Batch batch = writer.openBatch()) {
+                Map<String, String> files = files("BrakeAssist", code);
+                files.put(ComponentFileWriter.FINGERPRINT_FILE, code);
+                batch.stage("BrakeAssist", files);
+                batch.commit();
+            }
+        }
+
+        assertEquals("v2", writer.readFingerprint("BrakeAssist"));
+    }
+
+    private static Map<String, String> files(String componentName, String code) {
+        return ComponentFileWriter.componentFiles(componentName, code, "<div></div>", "", "");
+    }
+}
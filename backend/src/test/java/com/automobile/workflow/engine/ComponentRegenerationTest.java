@@ -0,0 +1,94 @@
+package com.automobile.workflow.engine;
+
+import com.automobile.workflow.model.Component;
+import com.automobile.workflow.model.Workflow;
+import com.automobile.workflow.repository.CodeBlobRepository;
+import com.automobile.workflow.repository.ComponentRepository;
+import com.automobile.workflow.repository.WorkflowRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Regeneration swaps a component's code blobs and releases the old ones
+ */
+@SpringBootTest
+@Transactional
+class ComponentRegenerationTest {
+
+    @Autowired
+    private ComponentGeneratorService componentGeneratorService;
+
+    @Autowired
+    private WorkflowRepository workflowRepository;
+
+    @Autowired
+    private ComponentRepository componentRepository;
+
+    @Autowired
+    private CodeBlobRepository codeBlobRepository;
+
+    @Test
+    void regenerateAfterWorkflowChangeReleasesOldBlob() {
+        Workflow workflow = workflowRepository.save(workflow("BrakeAssistController"));
+        String previous = componentGeneratorService.generateComponent(workflow).getTemplateBlob().getHash();
+
+        workflow.setDescription("Assists emergency stops at any speed");
+        Component regenerated = componentGeneratorService.generateComponent(workflow);
+        componentRepository.flush();
+
+        String current = regenerated.getTemplateBlob().getHash();
+        assertNotEquals(previous, current);
+        assertFalse(codeBlobRepository.existsById(previous));
+        assertEquals(1L, codeBlobRepository.findById(current).orElseThrow().getRefCount());
+    }
+
+    @Test
+    void bulkRefreshReleasesOldBlobs() {
+        Workflow workflow = workflowRepository.save(workflow("LaneKeepingController"));
+        String previous = componentGeneratorService.generateComponent(workflow).getTemplateBlob().getHash();
+
+        workflow.setDescription("Keeps the vehicle centred in its lane");
+        BulkGenerationResult result = componentGeneratorService.generateComponents(List.of(workflow), false, false);
+
+        assertEquals(1, result.getRegenerated());
+        assertFalse(codeBlobRepository.existsById(previous));
+        String current = componentRepository.findByName("LaneKeepingController").orElseThrow()
+            .getTemplateBlob().getHash();
+        assertEquals(1L, codeBlobRepository.findById(current).orElseThrow().getRefCount());
+    }
+
+    @Test
+    void forcedRegenerationOfIdenticalCodeKeepsBlobs() {
+        Workflow workflow = workflowRepository.save(workflow("TractionController"));
+        String hash = componentGeneratorService.generateComponent(workflow).getTemplateBlob().getHash();
+
+        componentGeneratorService.generateComponents(List.of(workflow), false, true);
+
+        assertEquals(hash, componentRepository.findByName("TractionController").orElseThrow()
+            .getTemplateBlob().getHash());
+        assertEquals(1L, codeBlobRepository.findById(hash).orElseThrow().getRefCount());
+    }
+
+    private static Workflow workflow(String componentName) {
+        return Workflow.builder()
+            .name(componentName + " workflow")
+            .description("Monitors brake pressure")
+            .status(Workflow.WorkflowStatus.APPROVED)
+            .category(Workflow.ComponentCategory.SAFETY_SYSTEM)
+            .componentName(componentName)
+            .componentType("CONTROLLER")
+            .templateName("BASE")
+            .createdBy("test")
+            .dependencies(new ArrayList<>(List.of("WheelSpeedSensor")))
+            .build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.automobile.workflow.engine;
+
+import com.automobile.workflow.model.Workflow;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuleCompilerTest {
+
+    private final Workflow powertrain = Workflow.builder()
+        .name("Engine Control")
+        .componentName("EngineController")
+        .componentType("CONTROLLER")
+        .category(Workflow.ComponentCategory.POWERTRAIN)
+        .dependencies(List.of("DataLogger"))
+        .inputs(List.of())
+        .outputs(List.of())
+        .build();
+
+    @Test
+    void notEqualsFailsForMatchingCategory() {
+        CompiledRule rule = RuleCompiler.compile("category != 'POWERTRAIN'");
+
+        assertFalse(rule.isDescriptive());
+        assertNull(rule.getError());
+        assertFalse(rule.test(powertrain));
+    }
+
+    @Test
+    void notEqualsWithoutSpacesIsAnExpression() {
+        CompiledRule rule = RuleCompiler.compile("category!='POWERTRAIN'");
+
+        assertFalse(rule.isDescriptive());
+        assertFalse(rule.test(powertrain));
+    }
+
+    @Test
+    void negatedComparisons() {
+        assertFalse(RuleCompiler.compile("!(category == 'POWERTRAIN')").test(powertrain));
+        assertFalse(RuleCompiler.compile("not dependencies contains 'DataLogger'").test(powertrain));
+        assertTrue(RuleCompiler.compile("!category == 'SAFETY_SYSTEM'").test(powertrain));
+    }
+
+    @Test
+    void freeTextIsDescriptive() {
+        CompiledRule rule = RuleCompiler.compile("Real-time monitoring required!");
+
+        assertTrue(rule.isDescriptive());
+        assertTrue(rule.test(powertrain));
+    }
+}
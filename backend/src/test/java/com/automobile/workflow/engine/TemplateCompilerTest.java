@@ -0,0 +1,41 @@
+package com.automobile.workflow.engine;
+
+import com.automobile.workflow.model.Workflow;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TemplateCompilerTest {
+
+    @Test
+    void loopItemRendersInsideEach() {
+        CompiledTemplate template = TemplateCompiler.compile("test",
+            "{{#each dependencies}}\nimport './{{this|kebab}}';\n{{/each}}\n");
+        Workflow workflow = Workflow.builder()
+            .componentName("BrakeAssist")
+            .dependencies(List.of("WheelSpeedSensor"))
+            .build();
+
+        assertEquals("import './wheel-speed-sensor';\n", template.render(workflow));
+    }
+
+    @Test
+    void loopItemOutsideEachIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> TemplateCompiler.compile("test", "{{this}}"));
+        assertThrows(IllegalArgumentException.class, () -> TemplateCompiler.compile("test", "{{this|kebab}}"));
+        assertThrows(IllegalArgumentException.class,
+            () -> TemplateCompiler.compile("test", "{{#if this}}x{{/if}}"));
+    }
+
+    @Test
+    void builderWorkflowHasEmptyLists() {
+        Workflow workflow = Workflow.builder().componentName("BrakeAssist").build();
+
+        assertEquals(List.of(), workflow.getInputs());
+        assertEquals(List.of(), workflow.getOutputs());
+        assertEquals("", TemplateCompiler.compile("test", "{{#each inputs}}{{this}}{{/each}}").render(workflow));
+    }
+}
@@ -0,0 +1,87 @@
+package com.automobile.workflow.engine;
+
+import com.automobile.workflow.model.Workflow;
+import com.automobile.workflow.model.WorkflowStep;
+import com.automobile.workflow.repository.WorkflowRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Execution outcomes only land on workflows that are still in progress
+ */
+@SpringBootTest
+class WorkflowExecutionOutcomeTest {
+
+    @Autowired
+    private WorkflowEngine workflowEngine;
+
+    @Autowired
+    private WorkflowRepository workflowRepository;
+
+    @MockBean
+    private ValidationService validationService;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        created.forEach(workflowRepository::deleteById);
+    }
+
+    @Test
+    void outcomeIsRecordedWhileInProgress() {
+        Long id = approvedWorkflow("ParkAssistController");
+
+        assertTrue(workflowEngine.executeWorkflow(id).isSuccess());
+
+        assertEquals(Workflow.WorkflowStatus.COMPLETED, workflowRepository.findById(id).orElseThrow().getStatus());
+    }
+
+    @Test
+    void rejectDuringExecutionIsNotOverwritten() {
+        Long id = approvedWorkflow("CruiseController");
+        doAnswer(invocation -> {
+            workflowEngine.rejectWorkflow(id, "reviewer", "recalled");
+            return null;
+        }).when(validationService).validateWorkflow(any());
+
+        assertTrue(workflowEngine.executeWorkflow(id).isSuccess());
+
+        assertEquals(Workflow.WorkflowStatus.REJECTED, workflowRepository.findById(id).orElseThrow().getStatus());
+    }
+
+    private Long approvedWorkflow(String componentName) {
+        Workflow workflow = Workflow.builder()
+            .name(componentName + " workflow")
+            .description("Execution outcome test")
+            .status(Workflow.WorkflowStatus.PENDING_APPROVAL)
+            .category(Workflow.ComponentCategory.SAFETY_SYSTEM)
+            .componentName(componentName)
+            .componentType("CONTROLLER")
+            .templateName("BASE")
+            .createdBy("test")
+            .build();
+        workflow.getSteps().add(WorkflowStep.builder()
+            .workflow(workflow)
+            .stepOrder(1)
+            .stepName("Validate")
+            .stepType(WorkflowStep.StepType.VALIDATION)
+            .status(WorkflowStep.StepStatus.PENDING)
+            .build());
+        Long id = workflowRepository.save(workflow).getId();
+        created.add(id);
+        workflowEngine.approveWorkflow(id, "reviewer");
+        return id;
+    }
+}
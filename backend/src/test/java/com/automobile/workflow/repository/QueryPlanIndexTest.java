@@ -0,0 +1,148 @@
+package com.automobile.workflow.repository;
+
+import com.automobile.workflow.model.Workflow;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the indexes created by V1 and V2 are the ones H2 plans for the
+ * repository query shapes they were added for
+ *
+ * The owner-column indexes of the element collection tables are checked
+ * separately: H2 already backs every foreign key with an index on the same
+ * column, so either index may serve the lookup there.
+ *
+ * The tables are seeded once with a production-sized data set and analyzed,
+ * so H2 plans with realistic selectivity rather than picking whatever index
+ * fits a near-empty table. The seed is committed and removed after the class.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanIndexTest {
+
+    private static final int WORKFLOWS = 20_000;
+    private static final int USERS = 200;
+    private static final int DEPENDENCIES = 500;
+    private static final String BLOB_HASH = "query-plan-index-test";
+    private static final Workflow.WorkflowStatus[] STATUSES = Workflow.WorkflowStatus.values();
+    private static final Workflow.ComponentCategory[] CATEGORIES = Workflow.ComponentCategory.values();
+    private static final Map<String, String> COLLECTION_TABLES = Map.of(
+        "workflow_dependencies", "workflow_id, dependency",
+        "workflow_inputs", "workflow_id, input_property",
+        "workflow_outputs", "workflow_id, output_property",
+        "workflow_validation_rules", "workflow_id, rule",
+        "component_dependencies", "component_id, dependency",
+        "component_inputs", "component_id, input_property",
+        "component_outputs", "component_id, output_property");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("insert into code_blobs (hash, content, size, ref_count) values (?, X'00', 1, 1)",
+            BLOB_HASH);
+
+        List<Object[]> workflows = new ArrayList<>();
+        List<Object[]> components = new ArrayList<>();
+        List<Object[]> steps = new ArrayList<>();
+        List<Object[]> dependencies = new ArrayList<>();
+        for (long id = 1; id <= WORKFLOWS; id++) {
+            String status = STATUSES[(int) (id % STATUSES.length)].name();
+            String category = CATEGORIES[(int) (id % CATEGORIES.length)].name();
+            String user = "user" + (id % USERS);
+            workflows.add(new Object[] {id, "Workflow " + id, status, category, "Component" + id, user});
+            components.add(new Object[] {id, "Component" + id, category, user, id, id % 3 != 0});
+            for (int order = 1; order <= 3; order++) {
+                steps.add(new Object[] {id * 10 + order, id, order});
+            }
+            dependencies.add(new Object[] {id, "Dependency" + (id % DEPENDENCIES)});
+        }
+
+        jdbcTemplate.batchUpdate("insert into workflows (id, name, status, category, component_name, "
+            + "component_type, template_name, created_by, created_at, updated_at) "
+            + "values (?, ?, ?, ?, ?, 'CONTROLLER', 'BASE', ?, current_timestamp, current_timestamp)", workflows);
+        jdbcTemplate.batchUpdate("insert into components (id, name, category, component_type, selector, "
+            + "template_blob_hash, version, created_by, workflow_id, created_at, is_active) "
+            + "values (?, ?, ?, 'CONTROLLER', 'app-x', '" + BLOB_HASH + "', '1.0.0', ?, ?, current_timestamp, ?)",
+            components);
+        jdbcTemplate.batchUpdate("insert into workflow_steps (id, workflow_id, step_order, step_name, step_type, "
+            + "status) values (?, ?, ?, 'Step', 'VALIDATION', 'PENDING')", steps);
+        COLLECTION_TABLES.forEach((table, columns) -> jdbcTemplate.batchUpdate(
+            "insert into " + table + " (" + columns + ") values (?, ?)", dependencies));
+        jdbcTemplate.execute("analyze");
+    }
+
+    @AfterAll
+    void removeSeed() {
+        COLLECTION_TABLES.forEach((table, columns) -> jdbcTemplate.update("delete from " + table + " where "
+            + columns.substring(0, columns.indexOf(',')) + " <= ?", WORKFLOWS));
+        jdbcTemplate.update("delete from workflow_steps where workflow_id <= ?", WORKFLOWS);
+        jdbcTemplate.update("delete from components where id <= ?", WORKFLOWS);
+        jdbcTemplate.update("delete from workflows where id <= ?", WORKFLOWS);
+        jdbcTemplate.update("delete from code_blobs where hash = ?", BLOB_HASH);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', quoteCharacter = '"', value = {
+        "idx_workflow_dependency | select workflow_id from workflow_dependencies where dependency = 'Dependency3'",
+        "idx_component_dependency | select component_id from component_dependencies where dependency = 'Dependency3'",
+        "idx_workflows_status_id | select id from workflows where status = 'APPROVED' and id > 40 order by id",
+        "idx_workflows_status_created | select id from workflows where status = 'PENDING_APPROVAL' "
+            + "and created_at < current_timestamp order by created_at desc, id desc",
+        "idx_workflows_status_category | select id from workflows where status = 'APPROVED' "
+            + "and category = 'POWERTRAIN'",
+        "idx_workflows_category_id | select id from workflows where category = 'CHASSIS_CONTROL' and id > 40 "
+            + "order by id",
+        "idx_workflows_created_by | select id from workflows where created_by = 'user7'",
+        "idx_workflow_steps_workflow | select id from workflow_steps where workflow_id = 12 and step_order > 0 "
+            + "order by step_order",
+        "idx_components_workflow_id | select id from components where workflow_id = 12 and id > 0 order by id",
+        "idx_components_active_id | select id from components where is_active = true and id > 40 order by id",
+        "idx_components_category_active | select id from components where category = 'POWERTRAIN' "
+            + "and is_active = true",
+        "idx_components_category_id | select id from components where category = 'CHASSIS_CONTROL' and id > 40 "
+            + "order by id",
+        "idx_components_created_by | select id from components where created_by = 'user7'"
+    })
+    void queryUsesIndex(String index, String query) {
+        String plan = explain(query);
+        assertTrue(plan.contains("/* PUBLIC." + index.toUpperCase() + ":"), () -> index + " not used: " + plan);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', quoteCharacter = '"', value = {
+        "idx_workflow_dependencies_workflow | workflow_dependencies | workflow_id",
+        "idx_workflow_inputs_workflow | workflow_inputs | workflow_id",
+        "idx_workflow_outputs_workflow | workflow_outputs | workflow_id",
+        "idx_workflow_validation_rules_workflow | workflow_validation_rules | workflow_id",
+        "idx_component_dependencies_component | component_dependencies | component_id",
+        "idx_component_inputs_component | component_inputs | component_id",
+        "idx_component_outputs_component | component_outputs | component_id"
+    })
+    void ownerLookupUsesIndex(String index, String table, String column) {
+        Integer indexed = jdbcTemplate.queryForObject("select count(*) from information_schema.index_columns "
+            + "where index_name = ? and table_name = ? and column_name = ?", Integer.class,
+            index.toUpperCase(), table.toUpperCase(), column.toUpperCase());
+        assertTrue(indexed != null && indexed == 1, () -> index + " is missing");
+
+        String plan = explain("select * from " + table + " where " + column + " = 12");
+        assertTrue(!plan.contains("tableScan"), () -> table + " lookup does not use an index: " + plan);
+    }
+
+    private String explain(String query) {
+        return jdbcTemplate.queryForObject("explain " + query, String.class);
+    }
+}
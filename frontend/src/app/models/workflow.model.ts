@@ -13,12 +13,15 @@ export interface Workflow {
   componentName: string;
   componentType: string;
   dependencies: string[];
+  inputs?: string[];
+  outputs?: string[];
   validationRules: string[];
   templateName: string;
   configuration?: string;
   createdBy: string;
   approvedBy?: string;
   approvedAt?: Date;
+  definitionVersion?: number;
   createdAt?: Date;
   updatedAt?: Date;
   steps?: WorkflowStep[];
@@ -80,6 +83,7 @@ export enum StepStatus {
 
 export interface WorkflowExecutionResult {
   workflowId: number;
+  definitionVersion: number;
   success: boolean;
   message: string;
   error?: string;
@@ -109,4 +113,46 @@ export interface Component {
   metadata?: string;
 }
 
+export interface WorkflowSummary {
+  id: number;
+  name: string;
+  description: string;
+  status: WorkflowStatus;
+  category: ComponentCategory;
+  componentName: string;
+  componentType: string;
+  createdBy: string;
+  createdAt?: Date;
+  updatedAt?: Date;
+}
+
+export interface ComponentSummary {
+  id: number;
+  name: string;
+  description: string;
+  category: ComponentCategory;
+  componentType: string;
+  selector: string;
+  version: string;
+  createdBy: string;
+  workflowId: number;
+  createdAt?: Date;
+  isActive: boolean;
+}
+
+/**
+ * Selection for bulk component operations; set fields are combined with AND
+ */
+export interface ComponentFilter {
+  ids?: number[];
+  category?: ComponentCategory;
+  workflowId?: number;
+}
+
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor?: string;
+  limit: number;
+}
+
 // Made with Bob
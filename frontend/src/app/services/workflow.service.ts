@@ -1,7 +1,9 @@
 import { Injectable } from '@angular/core';
-import { HttpClient, HttpHeaders } from '@angular/common/http';
+import { HttpClient, HttpHeaders, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { Workflow, WorkflowExecutionResult, Component } from '../models/workflow.model';
+import {
+  Workflow, WorkflowExecutionResult, Component, CursorPage, WorkflowSummary, ComponentSummary, ComponentFilter
+} from '../models/workflow.model';
 
 /**
  * WorkflowService - Angular service for workflow API communication
@@ -24,10 +26,10 @@ export class WorkflowService {
   // Workflow Operations
 
   /**
-   * Get all workflows
+   * Get a page of workflows; pass the previous page's nextCursor to continue
    */
-  getAllWorkflows(): Observable<Workflow[]> {
-    return this.http.get<Workflow[]>(`${this.apiUrl}/workflows`);
+  getAllWorkflows(cursor?: string, limit?: number): Observable<CursorPage<WorkflowSummary>> {
+    return this.http.get<CursorPage<WorkflowSummary>>(`${this.apiUrl}/workflows`, { params: this.pageParams(cursor, limit) });
   }
 
   /**
@@ -66,18 +68,32 @@ export class WorkflowService {
     return this.http.delete<void>(`${this.apiUrl}/workflows/${id}`);
   }
 
+  /**
+   * Search workflows by name and description; a trailing '*' makes a term a prefix
+   */
+  searchWorkflows(query: string, category?: string, cursor?: string,
+                  limit?: number): Observable<CursorPage<WorkflowSummary>> {
+    let params = this.pageParams(cursor, limit).set('query', query);
+    if (category) {
+      params = params.set('category', category);
+    }
+    return this.http.get<CursorPage<WorkflowSummary>>(`${this.apiUrl}/workflows/search`, { params });
+  }
+
   /**
    * Get workflows by status
    */
-  getWorkflowsByStatus(status: string): Observable<Workflow[]> {
-    return this.http.get<Workflow[]>(`${this.apiUrl}/workflows/status/${status}`);
+  getWorkflowsByStatus(status: string, cursor?: string, limit?: number): Observable<CursorPage<WorkflowSummary>> {
+    return this.http.get<CursorPage<WorkflowSummary>>(`${this.apiUrl}/workflows/status/${status}`,
+      { params: this.pageParams(cursor, limit) });
   }
 
   /**
    * Get workflows by category
    */
-  getWorkflowsByCategory(category: string): Observable<Workflow[]> {
-    return this.http.get<Workflow[]>(`${this.apiUrl}/workflows/category/${category}`);
+  getWorkflowsByCategory(category: string, cursor?: string, limit?: number): Observable<CursorPage<WorkflowSummary>> {
+    return this.http.get<CursorPage<WorkflowSummary>>(`${this.apiUrl}/workflows/category/${category}`,
+      { params: this.pageParams(cursor, limit) });
   }
 
   /**
@@ -123,8 +139,9 @@ export class WorkflowService {
   /**
    * Get pending approval workflows
    */
-  getPendingApprovalWorkflows(): Observable<Workflow[]> {
-    return this.http.get<Workflow[]>(`${this.apiUrl}/workflows/pending-approval`);
+  getPendingApprovalWorkflows(cursor?: string, limit?: number): Observable<CursorPage<WorkflowSummary>> {
+    return this.http.get<CursorPage<WorkflowSummary>>(`${this.apiUrl}/workflows/pending-approval`,
+      { params: this.pageParams(cursor, limit) });
   }
 
   /**
@@ -137,10 +154,10 @@ export class WorkflowService {
   // Component Operations
 
   /**
-   * Get all components
+   * Get a page of components; pass the previous page's nextCursor to continue
    */
-  getAllComponents(): Observable<Component[]> {
-    return this.http.get<Component[]>(`${this.apiUrl}/components`);
+  getAllComponents(cursor?: string, limit?: number): Observable<CursorPage<ComponentSummary>> {
+    return this.http.get<CursorPage<ComponentSummary>>(`${this.apiUrl}/components`, { params: this.pageParams(cursor, limit) });
   }
 
   /**
@@ -153,29 +170,37 @@ export class WorkflowService {
   /**
    * Get components by category
    */
-  getComponentsByCategory(category: string): Observable<Component[]> {
-    return this.http.get<Component[]>(`${this.apiUrl}/components/category/${category}`);
+  getComponentsByCategory(category: string, cursor?: string, limit?: number): Observable<CursorPage<ComponentSummary>> {
+    return this.http.get<CursorPage<ComponentSummary>>(`${this.apiUrl}/components/category/${category}`,
+      { params: this.pageParams(cursor, limit) });
   }
 
   /**
-   * Search components
+   * Search active components by name and description; a trailing '*' makes a term a prefix
    */
-  searchComponents(query: string): Observable<Component[]> {
-    return this.http.get<Component[]>(`${this.apiUrl}/components/search?query=${query}`);
+  searchComponents(query: string, category?: string, cursor?: string,
+                   limit?: number): Observable<CursorPage<ComponentSummary>> {
+    let params = this.pageParams(cursor, limit).set('query', query);
+    if (category) {
+      params = params.set('category', category);
+    }
+    return this.http.get<CursorPage<ComponentSummary>>(`${this.apiUrl}/components/search`, { params });
   }
 
   /**
    * Get active components
    */
-  getActiveComponents(): Observable<Component[]> {
-    return this.http.get<Component[]>(`${this.apiUrl}/components/active`);
+  getActiveComponents(cursor?: string, limit?: number): Observable<CursorPage<ComponentSummary>> {
+    return this.http.get<CursorPage<ComponentSummary>>(`${this.apiUrl}/components/active`,
+      { params: this.pageParams(cursor, limit) });
   }
 
   /**
    * Get components by workflow ID
    */
-  getComponentsByWorkflowId(workflowId: number): Observable<Component[]> {
-    return this.http.get<Component[]>(`${this.apiUrl}/components/workflow/${workflowId}`);
+  getComponentsByWorkflowId(workflowId: number, cursor?: string, limit?: number): Observable<CursorPage<ComponentSummary>> {
+    return this.http.get<CursorPage<ComponentSummary>>(`${this.apiUrl}/components/workflow/${workflowId}`,
+      { params: this.pageParams(cursor, limit) });
   }
 
   /**
@@ -207,6 +232,30 @@ export class WorkflowService {
     );
   }
 
+  /**
+   * Activate all components matching the filters (combined with AND); returns the affected count
+   */
+  activateComponents(filter: ComponentFilter): Observable<{ affected: number }> {
+    return this.http.put<{ affected: number }>(`${this.apiUrl}/components/bulk/activate`, {},
+      { ...this.httpOptions, params: this.filterParams(filter) });
+  }
+
+  /**
+   * Deactivate all components matching the filters (combined with AND); returns the affected count
+   */
+  deactivateComponents(filter: ComponentFilter): Observable<{ affected: number }> {
+    return this.http.put<{ affected: number }>(`${this.apiUrl}/components/bulk/deactivate`, {},
+      { ...this.httpOptions, params: this.filterParams(filter) });
+  }
+
+  /**
+   * Delete all components matching the filters (combined with AND); returns the affected count
+   */
+  deleteComponents(filter: ComponentFilter): Observable<{ affected: number }> {
+    return this.http.delete<{ affected: number }>(`${this.apiUrl}/components/bulk`,
+      { params: this.filterParams(filter) });
+  }
+
   /**
    * Get component statistics
    */
@@ -220,4 +269,33 @@ export class WorkflowService {
   getComponentCode(id: number): Observable<any> {
     return this.http.get(`${this.apiUrl}/components/${id}/code`);
   }
-}
\ No newline at end of file
+
+  /**
+   * Query parameters for a bulk component selection
+   */
+  private filterParams(filter: ComponentFilter): HttpParams {
+    let params = new HttpParams();
+    (filter.ids ?? []).forEach(id => params = params.append('ids', id));
+    if (filter.category) {
+      params = params.set('category', filter.category);
+    }
+    if (filter.workflowId != null) {
+      params = params.set('workflowId', filter.workflowId);
+    }
+    return params;
+  }
+
+  /**
+   * Query parameters for a keyset page request
+   */
+  private pageParams(cursor?: string, limit?: number): HttpParams {
+    let params = new HttpParams();
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    if (limit) {
+      params = params.set('limit', limit);
+    }
+    return params;
+  }
+}